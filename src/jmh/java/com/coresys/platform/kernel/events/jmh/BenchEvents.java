@@ -0,0 +1,54 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.jmh;
+
+/**
+ * События бенчмарков: BenchEvents.
+ *
+ * Событие реализует 16 маркерных интерфейсов: подписки, разложенные по первым N из них,
+ * дают N подписанных типов, которые сопоставляются событию через isAssignableFrom.
+ *
+ * @author Евгений Платонов
+ */
+
+final class BenchEvents {
+
+    interface T0 {}
+    interface T1 {}
+    interface T2 {}
+    interface T3 {}
+    interface T4 {}
+    interface T5 {}
+    interface T6 {}
+    interface T7 {}
+    interface T8 {}
+    interface T9 {}
+    interface T10 {}
+    interface T11 {}
+    interface T12 {}
+    interface T13 {}
+    interface T14 {}
+    interface T15 {}
+
+    static final Class<?>[] TYPES = {
+            BenchEvent.class, T1.class, T2.class, T3.class, T4.class, T5.class, T6.class, T7.class,
+            T8.class, T9.class, T10.class, T11.class, T12.class, T13.class, T14.class, T15.class
+    };
+
+    static final class BenchEvent implements T0, T1, T2, T3, T4, T5, T6, T7,
+            T8, T9, T10, T11, T12, T13, T14, T15 {
+        final long seq;
+
+        BenchEvent(long seq) {
+            this.seq = seq;
+        }
+    }
+
+    private BenchEvents() {
+    }
+}
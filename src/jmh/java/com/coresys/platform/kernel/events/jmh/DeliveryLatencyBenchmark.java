@@ -0,0 +1,88 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.jmh;
+
+import com.coresys.platform.kernel.events.QueueType;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+import com.coresys.platform.kernel.events.impl.DefaultEventBus;
+import com.coresys.platform.kernel.events.impl.EventExecutors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Бенчмарк шины событий: DeliveryLatencyBenchmark.
+ *
+ * Сквозная задержка: от publish до завершения обработчиков во всех подписках
+ * (SampleTime — перцентили). Публикация следующего события ждёт обработки предыдущего,
+ * поэтому очередь пуста и в замер входят планирование дренажа и пробуждение потока пула.
+ *
+ * @author Евгений Платонов
+ */
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(1)
+public class DeliveryLatencyBenchmark {
+
+    @Param({"1", "16", "128"})
+    public int subscribers;
+
+    @Param({"ARRAY_BLOCKING", "MPSC_RING"})
+    public QueueType queueType;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final BenchEvents.BenchEvent event = new BenchEvents.BenchEvent(0);
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        exec = EventExecutors.platform(Math.max(2, Runtime.getRuntime().availableProcessors()), 10_000);
+        bus = new DefaultEventBus(exec);
+        SubscriptionOptions options = SubscriptionOptions.builder().queueType(queueType).build();
+        for (int i = 0; i < subscribers; i++) {
+            bus.subscribe(BenchEvents.BenchEvent.class, e -> pending.decrementAndGet(), options);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bus.drain(5_000);
+        exec.shutdownNow();
+    }
+
+    @Benchmark
+    public void publishAndAwait() {
+        pending.set(subscribers);
+        bus.publish(event);
+        while (pending.get() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+}
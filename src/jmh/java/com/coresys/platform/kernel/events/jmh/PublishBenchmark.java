@@ -0,0 +1,140 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.jmh;
+
+import com.coresys.platform.kernel.events.EventBus;
+import com.coresys.platform.kernel.events.OverflowPolicy;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+import com.coresys.platform.kernel.events.impl.DefaultEventBus;
+import com.coresys.platform.kernel.events.impl.EventExecutors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Бенчмарк шины событий: PublishBenchmark.
+ *
+ * Стоимость DefaultEventBus.publish для публикующего потока: пропускная способность
+ * (ops/s) и распределение времени вызова (SampleTime — перцентили) при 1 и 4 публикующих
+ * потоках. Число потоков можно переопределить ключом -t. Обработчики тривиальны:
+ * измеряется рассылка и постановка в очереди, при BLOCK — ещё и ожидание дренажа.
+ *
+ * Сопоставление типов (isAssignableFrom по всем подписанным типам) выполняется один раз
+ * на изменение топологии и кэшируется; его цену показывает planRebuild.
+ *
+ * Полная матрица параметров велика; сузить её можно ключом -p, например
+ * -p subscribers=16 -p policy=DROP.
+ *
+ * @author Евгений Платонов
+ */
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PublishBenchmark {
+
+    @Param({"1", "16", "128"})
+    public int subscribers;
+
+    // Между сколькими типами (из иерархии события) распределены подписки.
+    @Param({"1", "4", "16"})
+    public int types;
+
+    @Param({"1024", "65536"})
+    public int queueCapacity;
+
+    @Param({"DROP", "BLOCK", "DEAD_LETTER", "CONFLATE"})
+    public OverflowPolicy policy;
+
+    private final LongAdder handled = new LongAdder();
+    private final BenchEvents.BenchEvent event = new BenchEvents.BenchEvent(0);
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        exec = EventExecutors.platform(Math.max(2, Runtime.getRuntime().availableProcessors()), 10_000);
+        bus = new DefaultEventBus(exec);
+        SubscriptionOptions options = SubscriptionOptions.builder()
+                .queueCapacity(queueCapacity)
+                .overflowPolicy(policy)
+                .build();
+        for (int i = 0; i < subscribers; i++) {
+            bus.subscribe(BenchEvents.TYPES[i % types], e -> handled.increment(), options);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bus.drain(5_000);
+        exec.shutdownNow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(1)
+    public void throughput() {
+        bus.publish(event);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(4)
+    public void throughputContended() {
+        bus.publish(event);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Threads(1)
+    public void latency() {
+        bus.publish(event);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Threads(4)
+    public void latencyContended() {
+        bus.publish(event);
+    }
+
+    /**
+     * Публикация сразу после изменения топологии: план рассылки собирается заново
+     * перебором всех подписанных типов.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(1)
+    public void planRebuild() {
+        EventBus.Subscription s = bus.subscribe(Void.class, e -> { }, null);
+        s.unsubscribe();
+        bus.publish(event);
+    }
+}
@@ -9,6 +9,7 @@ package com.coresys.platform.kernel;
 
 import com.coresys.platform.kernel.config.ConfigService;
 import com.coresys.platform.kernel.di.ServiceRegistry;
+import com.coresys.platform.kernel.events.DrainReport;
 import com.coresys.platform.kernel.events.EventBus;
 import com.coresys.platform.kernel.lifecycle.LifecycleManager;
 import com.coresys.platform.kernel.startlevel.StartLevelService;
@@ -18,6 +19,7 @@ import com.coresys.platform.kernel.props.DebugFlags;
 import com.coresys.platform.kernel.props.KernelProps;
 
 import java.util.Objects;
+import java.util.logging.Logger;
 
 /**
  * Ядро CoreSys.
@@ -38,6 +40,8 @@ import java.util.Objects;
 
 public final class Kernel implements AutoCloseable {
 
+    private static final Logger LOG = Logger.getLogger(Kernel.class.getName());
+
     private final ModuleRegistry moduleRegistry;
     private final ServiceRegistry serviceRegistry;
     private final EventBus eventBus;
@@ -114,6 +118,16 @@ public final class Kernel implements AutoCloseable {
             startLevels.shutdown();
         } catch (Exception ignored) {
         }
+        try {
+            // Дренируем шину событий, пока модули ещё активны: новые публикации отклоняются,
+            // уже поставленные в очереди события дообрабатываются в пределах срока.
+            long drainMillis = kernelProps.getLong("coresys.kernel.events.shutdown.drainMillis", 5_000L);
+            DrainReport report = eventBus.drain(drainMillis);
+            if (!report.completed()) {
+                LOG.warning("EventBus drain incomplete: " + report);
+            }
+        } catch (Exception ignored) {
+        }
         try {
             // Затем останавливаем все активные модули (в обратном порядке уровней).
             lifecycle.stopAll();
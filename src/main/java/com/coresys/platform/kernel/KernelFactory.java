@@ -9,7 +9,10 @@ package com.coresys.platform.kernel;
 
 import com.coresys.platform.kernel.config.impl.SystemPropertiesConfigService;
 import com.coresys.platform.kernel.di.impl.DefaultServiceRegistry;
+import com.coresys.platform.kernel.events.EventBusOptions;
+import com.coresys.platform.kernel.events.ExecutorMode;
 import com.coresys.platform.kernel.events.impl.DefaultEventBus;
+import com.coresys.platform.kernel.events.impl.EventExecutors;
 import com.coresys.platform.kernel.lifecycle.impl.TransactionalLifecycleManager;
 import com.coresys.platform.kernel.props.DebugFlags;
 import com.coresys.platform.kernel.props.DefaultKernelProps;
@@ -30,10 +33,6 @@ import com.coresys.platform.kernel.storage.impl.FileKernelStorage;
 
 import java.nio.file.Path;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Фабрика создания Kernel.
@@ -58,31 +57,31 @@ public final class KernelFactory {
         int threads = props.getInt("coresys.kernel.events.threads", Math.max(2, Runtime.getRuntime().availableProcessors()));
         int queueSize = props.getInt("coresys.kernel.events.queue", 10_000);
 
-        ThreadFactory tf = r -> {
-            Thread t = new Thread(r);
-            t.setName("coresys-events-" + t.getId());
-            t.setDaemon(true);
-            return t;
-        };
-
-        ExecutorService exec = new ThreadPoolExecutor(
-                threads,
-                threads,
-                0L,
-                TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(queueSize),
-                tf,
-                new ThreadPoolExecutor.CallerRunsPolicy()
-        );
-
-        var eventBus = new DefaultEventBus(exec);
-        var config = new SystemPropertiesConfigService();
-        config.reload();
+        ExecutorMode mode = EventExecutors.parseMode(props.getString("coresys.kernel.events.executor", "platform"));
+        ExecutorService exec = EventExecutors.create(mode, threads, queueSize);
 
-        var diagnostics = new DefaultDiagnosticsReporter();
         Path home = props.getPath(DefaultKernelProps.KERNEL_HOME,
         Path.of(System.getProperty("user.home"), ".coresys", "kernel"));
         boolean readOnly = props.getBoolean(DefaultKernelProps.KERNEL_READ_ONLY, false);
+
+        EventBusOptions busOptions = EventBusOptions.builder()
+                .deadLetterCapacity(props.getInt("coresys.kernel.events.deadLetter.capacity", 10_000))
+                .stickyCapacity(props.getInt("coresys.kernel.events.sticky.capacity", 256))
+                .deadLetterSpillDir(!readOnly && props.getBoolean("coresys.kernel.events.deadLetter.spill", false)
+                        ? home.resolve("events").resolve("dead-letter") : null)
+                .deadLetterSpillBacklog(props.getInt("coresys.kernel.events.deadLetter.spillBacklog", 65_536))
+                .journalDir(!readOnly && props.getBoolean("coresys.kernel.events.journal", false)
+                        ? home.resolve("events").resolve("journal") : null)
+                .journalSegmentBytes(props.getInt("coresys.kernel.events.journal.segmentBytes", 64 * 1024 * 1024))
+                .traceSampleRate(parseSampleRate(props.getString("coresys.kernel.events.trace.sampleRate", "0")))
+                .traceCapacity(props.getInt("coresys.kernel.events.trace.capacity", 1024))
+                .build();
+
+        var eventBus = new DefaultEventBus(exec, busOptions);
+        var config = new SystemPropertiesConfigService();
+        config.reload();
+
+        var diagnostics = new DefaultDiagnosticsReporter();
         KernelStorage storage = new FileKernelStorage(home, readOnly);
 
         var lifecycle = new TransactionalLifecycleManager(modules, services, eventBus, config, diagnostics, storage);
@@ -102,4 +101,13 @@ public final class KernelFactory {
 
         return new Kernel(modules, services, eventBus, config, lifecycle, diagnostics, startLevels, props, debug);
     }
+
+    private static double parseSampleRate(String value) {
+        if (value == null || value.isBlank()) return 0.0;
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
 }
@@ -0,0 +1,23 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+import java.util.List;
+
+/**
+ * Контракт: BatchEventHandler.
+ *
+ * Обработчик, получающий события подписки пачками (до maxBatchSize за вызов).
+ * Список переиспользуется шиной и действителен только во время вызова onEvents.
+ *
+ * @author Евгений Платонов
+ */
+@FunctionalInterface
+public interface BatchEventHandler<E> {
+    void onEvents(List<? extends E> events) throws Exception;
+}
@@ -0,0 +1,59 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+import java.util.Objects;
+
+/**
+ * Запись dead-letter канала: DeadLetter.
+ *
+ * Иммутабельное описание события, которое не удалось доставить подписке.
+ *
+ * @author Евгений Платонов
+ */
+
+public final class DeadLetter {
+
+    private final String subscriptionId;
+    private final Object event;
+    private final DeadLetterReason reason;
+    private final String error;
+    private final long timestampMillis;
+
+    public DeadLetter(String subscriptionId, Object event, DeadLetterReason reason, String error, long timestampMillis) {
+        this.subscriptionId = subscriptionId == null ? "" : subscriptionId;
+        this.event = Objects.requireNonNull(event, "event");
+        this.reason = reason == null ? DeadLetterReason.OVERFLOW : reason;
+        this.error = error == null ? "" : error;
+        this.timestampMillis = timestampMillis;
+    }
+
+    public String subscriptionId() {
+        return subscriptionId;
+    }
+
+    public Object event() {
+        return event;
+    }
+
+    public String eventType() {
+        return event.getClass().getName();
+    }
+
+    public DeadLetterReason reason() {
+        return reason;
+    }
+
+    public String error() {
+        return error;
+    }
+
+    public long timestampMillis() {
+        return timestampMillis;
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+import java.util.List;
+
+/**
+ * Контракт: DeadLetterChannel.
+ *
+ * Ограниченное хранилище событий, не доставленных подпискам с политикой DEAD_LETTER
+ * (переполнение очереди или ошибка обработчика). Позволяет посмотреть содержимое
+ * и повторно доставить события подписке с ограниченной скоростью.
+ *
+ * @author Евгений Платонов
+ */
+
+public interface DeadLetterChannel {
+
+    /**
+     * Количество записей в памяти.
+     */
+    int size();
+
+    /**
+     * Количество записей, вытесненных на диск и ещё не воспроизведённых.
+     */
+    long spilled();
+
+    /**
+     * Количество записей, потерянных безвозвратно: кольцо переполнено, а вытеснить не удалось
+     * (нет каталога, событие не Serializable или переполнена очередь записи на диск
+     * EventBusOptions.deadLetterSpillBacklog).
+     */
+    long lost();
+
+    /**
+     * Записи в памяти для подписки (или все, если subscriptionId == null).
+     */
+    List<DeadLetter> snapshot(String subscriptionId);
+
+    /**
+     * Запускает повторную доставку событий подписке не быстрее eventsPerSecond.
+     * Записи идут в порядке отказов: сначала вытесненные на диск, затем из памяти.
+     * Воспроизводится содержимое канала на момент запуска; события, снова не доставленные
+     * во время replay, остаются в канале для следующего запуска.
+     */
+    Replay replay(String subscriptionId, int eventsPerSecond);
+
+    /**
+     * Удаляет записи подписки из памяти и с диска; возвращает число удалённых из памяти.
+     */
+    int purge(String subscriptionId);
+
+    interface Replay {
+
+        long replayed();
+
+        boolean isDone();
+
+        void cancel();
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+/**
+ * Перечисление: DeadLetterReason.
+ *
+ * Причина, по которой событие попало в dead-letter канал.
+ *
+ * @author Евгений Платонов
+ */
+
+public enum DeadLetterReason {
+    OVERFLOW,
+    HANDLER_FAILED
+}
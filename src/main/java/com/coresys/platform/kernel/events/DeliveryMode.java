@@ -0,0 +1,23 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+/**
+ * Перечисление: DeliveryMode.
+ *
+ * QUEUED — событие кладётся в очередь подписки и обрабатывается на executor-е шины.
+ * DIRECT — обработчик вызывается синхронно в публикующем потоке (для тривиальных
+ * обработчиков; должен быть потокобезопасным, очередь и политики переполнения не используются).
+ *
+ * @author Евгений Платонов
+ */
+
+public enum DeliveryMode {
+    QUEUED,
+    DIRECT
+}
@@ -0,0 +1,57 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+import java.util.Map;
+
+/**
+ * Итог остановки шины: DrainReport.
+ *
+ * completed — все очереди подписок опустели до срока. leftovers — сколько событий
+ * осталось в очереди каждой подписки (только ненулевые). rejected — сколько
+ * публикаций отклонено с момента начала остановки.
+ *
+ * @author Евгений Платонов
+ */
+
+public final class DrainReport {
+
+    private final boolean completed;
+    private final long elapsedMillis;
+    private final Map<String, Integer> leftovers;
+    private final long rejected;
+
+    public DrainReport(boolean completed, long elapsedMillis, Map<String, Integer> leftovers, long rejected) {
+        this.completed = completed;
+        this.elapsedMillis = Math.max(0, elapsedMillis);
+        this.leftovers = leftovers == null ? Map.of() : Map.copyOf(leftovers);
+        this.rejected = Math.max(0, rejected);
+    }
+
+    public boolean completed() {
+        return completed;
+    }
+
+    public long elapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public Map<String, Integer> leftovers() {
+        return leftovers;
+    }
+
+    public long rejected() {
+        return rejected;
+    }
+
+    @Override
+    public String toString() {
+        return "DrainReport{completed=" + completed + ", elapsedMillis=" + elapsedMillis
+                + ", leftovers=" + leftovers + ", rejected=" + rejected + "}";
+    }
+}
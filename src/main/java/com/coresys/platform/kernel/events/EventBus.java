@@ -7,7 +7,13 @@
 
 package com.coresys.platform.kernel.events;
 
+import com.coresys.platform.kernel.events.journal.EventJournal;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
 
 /**
  * Контракт: EventBus.
@@ -21,11 +27,148 @@ public interface EventBus {
 
     <E> Subscription subscribe(Class<E> eventType, EventHandler<? super E> handler, SubscriptionOptions options);
 
+    <E> Subscription subscribeBatch(Class<E> eventType, BatchEventHandler<? super E> handler, SubscriptionOptions options);
+
+    /**
+     * Конвейер операторов над событиями eventType; подписка с options создаётся
+     * терминальной операцией конвейера. Конвейер выполняется в дренаже одной очереди,
+     * поэтому options не должны задавать partitions > 1, DeliveryMode.DIRECT
+     * или rateLimit (для темпа есть throttle()).
+     */
+    <E> EventStream<E> stream(Class<E> eventType, SubscriptionOptions options);
+
+    /**
+     * Подписки на eventType в виде Flow.Publisher: каждый Flow.Subscriber получает
+     * свою подписку с options, и события выдаются ему только в пределах request(n).
+     * Неподтверждённые спросом события ждут в очереди подписки (queueCapacity,
+     * OverflowPolicy). options не должны задавать partitions > 1 или DeliveryMode.DIRECT.
+     */
+    <E> Flow.Publisher<E> publisher(Class<E> eventType, SubscriptionOptions options);
+
     void publish(Object event);
 
+    /**
+     * Публикация с явным приоритетом (важнее PrioritizedEvent.priority()).
+     */
+    void publish(Object event, EventPriority priority);
+
+    /**
+     * Неблокирующая публикация: подписки с политикой BLOCK при заполненной очереди
+     * не ждут места, а отказывают (как DROP). Возвращает итог по подпискам;
+     * после остановки шины — PublishOutcome.CLOSED.
+     */
+    PublishOutcome tryPublish(Object event);
+
+    /**
+     * Сколько ещё событий типа eventType можно опубликовать, не переполнив ни одну
+     * из подписок-получателей (минимум свободного места по их очередям; для
+     * секционированных подписок — по самой заполненной секции).
+     * Integer.MAX_VALUE, если ограничивающих очередей нет.
+     */
+    int remainingCapacity(Class<?> eventType);
+
+    /**
+     * Публикует пачку событий: подписчики определяются один раз на класс, события
+     * кладутся в очереди подписок подряд, дренаж каждой очереди будится один раз на пачку.
+     */
+    void publishBatch(Collection<?> events);
+
+    /**
+     * Вариант publishBatch для однородной пачки событий типа eventType.
+     */
+    <E> void publishBatch(Class<E> eventType, Collection<? extends E> events);
+
+    /**
+     * Sticky-публикация: событие доставляется как обычно и запоминается как последнее
+     * для своего класса. Новая подписка сразу получает из кэша все sticky-события
+     * подходящих типов — раньше любых живых событий.
+     */
+    void publishSticky(Object event);
+
+    /**
+     * Последнее sticky-событие ровно класса eventType (или null).
+     */
+    <E> E stickyEvent(Class<E> eventType);
+
+    /**
+     * Удаляет sticky-событие класса eventType из кэша. true — событие было.
+     */
+    boolean removeSticky(Class<?> eventType);
+
+    void clearSticky();
+
+    /**
+     * Запрос с ответом: публикует event и ждёт, пока один из обработчиков вызовет
+     * reply(event, answer). Запрос сопоставляется с ответом по identity объекта события.
+     * Future завершается TimeoutException по истечении timeoutMillis (≤ 0 — без таймаута)
+     * и сразу IllegalStateException, если подписчиков на тип события нет.
+     */
+    <R> CompletableFuture<R> request(Object event, Class<R> replyType, long timeoutMillis);
+
+    /**
+     * Ответ на запрос request; идёт напрямую в ожидающий future, минуя подписки.
+     * false — запрос уже завершён (ответом, таймаутом, отменой) или не был запросом.
+     */
+    boolean reply(Object request, Object reply);
+
+    /**
+     * Завершает запрос request ошибкой обработчика.
+     */
+    boolean replyFailure(Object request, Throwable error);
+
+    /**
+     * Отложенная публикация: event публикуется не раньше чем через delayMillis.
+     * Срабатывание выполняется на executor-е шины; после drain() не публикуется.
+     */
+    Scheduled publishAfter(Object event, long delayMillis);
+
+    /**
+     * Периодическая публикация с фиксированным темпом: первое событие eventSupplier —
+     * через initialDelayMillis, далее каждые periodMillis от предыдущего срока.
+     * Периоды, пропущенные из-за задержек, схлопываются в одну публикацию; null от
+     * eventSupplier пропускает период. Останавливается cancel() или drain().
+     */
+    Scheduled publishEvery(Supplier<?> eventSupplier, long initialDelayMillis, long periodMillis);
+
+    /**
+     * Создаёт кольцевой канал на bufferSize (округляется до степени двойки) заранее
+     * созданных слотах slotFactory; потребители дренируются на executor-е шины.
+     */
+    <T> EventRing<T> createRing(String name, Supplier<? extends T> slotFactory, int bufferSize);
+
+    /**
+     * Остановка шины: новые публикации отклоняются, очереди подписок дренируются
+     * группами по SubscriptionOptions.drainPriority (старшие первыми) не дольше
+     * timeoutMillis суммарно, затем дочитываются кольца createRing. Executor
+     * не останавливается. Очередь Flow-подписчика без спроса (Flow.Subscription.request)
+     * не ждётся и сразу попадает в leftovers. В конце останавливается таймер шины
+     * (publishAfter/publishEvery больше не срабатывают), незавершённые request
+     * завершаются IllegalStateException, журнал сбрасывается на диск и закрывается.
+     */
+    DrainReport drain(long timeoutMillis);
+
     Executor executor();
 
+    DeadLetterChannel deadLetters();
+
+    /**
+     * Журнал событий; если не настроен — isEnabled() == false.
+     */
+    EventJournal journal();
+
     interface Subscription {
         void unsubscribe();
     }
+
+    /**
+     * Ручка отложенной или периодической публикации.
+     */
+    interface Scheduled {
+        /**
+         * false — уже отменена или разовая публикация уже состоялась.
+         */
+        boolean cancel();
+
+        boolean isCancelled();
+    }
 }
@@ -0,0 +1,156 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+import java.nio.file.Path;
+
+/**
+ * Параметры: EventBusOptions.
+ *
+ * Набор настроек, управляющих поведением шины событий в целом (в отличие от SubscriptionOptions).
+ *
+ * @author Евгений Платонов
+ */
+
+public final class EventBusOptions {
+
+    private final int deadLetterCapacity;
+    private final Path deadLetterSpillDir;
+    private final int deadLetterSpillBacklog;
+    private final int stickyCapacity;
+    private final Path journalDir;
+    private final int journalSegmentBytes;
+    private final double traceSampleRate;
+    private final int traceCapacity;
+
+    private EventBusOptions(Builder b) {
+        this.deadLetterCapacity = Math.max(0, b.deadLetterCapacity);
+        this.deadLetterSpillDir = b.deadLetterSpillDir;
+        this.deadLetterSpillBacklog = Math.max(1, b.deadLetterSpillBacklog);
+        this.stickyCapacity = Math.max(0, b.stickyCapacity);
+        this.journalDir = b.journalDir;
+        this.journalSegmentBytes = Math.max(4096, b.journalSegmentBytes);
+        this.traceSampleRate = b.traceSampleRate > 0 ? Math.min(1.0, b.traceSampleRate) : 0.0;
+        this.traceCapacity = Math.max(1, b.traceCapacity);
+    }
+
+    public int deadLetterCapacity() {
+        return deadLetterCapacity;
+    }
+
+    /**
+     * Каталог для вытеснения dead-letter записей (null — без вытеснения, старые записи теряются).
+     */
+    public Path deadLetterSpillDir() {
+        return deadLetterSpillDir;
+    }
+
+    /**
+     * Сколько вытесненных записей ждут записи на диск. Всплеск сверх этого, пока executor
+     * не успевает писать, теряется и учитывается в DeadLetterChannel.lost().
+     */
+    public int deadLetterSpillBacklog() {
+        return deadLetterSpillBacklog;
+    }
+
+    /**
+     * Сколько классов событий держит кэш sticky-событий (LRU; 0 — кэш выключен).
+     */
+    public int stickyCapacity() {
+        return stickyCapacity;
+    }
+
+    /**
+     * Каталог журнала событий (null — журнал выключен).
+     */
+    public Path journalDir() {
+        return journalDir;
+    }
+
+    public int journalSegmentBytes() {
+        return journalSegmentBytes;
+    }
+
+    /**
+     * Доля публикаций, трассируемых от publish() до конца обработки во всех подписках
+     * (0 — трассировка выключена, 1 — каждая публикация).
+     */
+    public double traceSampleRate() {
+        return traceSampleRate;
+    }
+
+    /**
+     * Сколько последних завершённых трасс хранит шина.
+     */
+    public int traceCapacity() {
+        return traceCapacity;
+    }
+
+    public static EventBusOptions defaults() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int deadLetterCapacity = 10_000;
+        private Path deadLetterSpillDir;
+        private int deadLetterSpillBacklog = 65_536;
+        private int stickyCapacity = 256;
+        private Path journalDir;
+        private int journalSegmentBytes = 64 * 1024 * 1024;
+        private double traceSampleRate;
+        private int traceCapacity = 1024;
+
+        public Builder deadLetterCapacity(int capacity) {
+            this.deadLetterCapacity = capacity;
+            return this;
+        }
+
+        public Builder deadLetterSpillDir(Path dir) {
+            this.deadLetterSpillDir = dir;
+            return this;
+        }
+
+        public Builder deadLetterSpillBacklog(int backlog) {
+            this.deadLetterSpillBacklog = backlog;
+            return this;
+        }
+
+        public Builder stickyCapacity(int capacity) {
+            this.stickyCapacity = capacity;
+            return this;
+        }
+
+        public Builder journalDir(Path dir) {
+            this.journalDir = dir;
+            return this;
+        }
+
+        public Builder journalSegmentBytes(int segmentBytes) {
+            this.journalSegmentBytes = segmentBytes;
+            return this;
+        }
+
+        public Builder traceSampleRate(double sampleRate) {
+            this.traceSampleRate = sampleRate;
+            return this;
+        }
+
+        public Builder traceCapacity(int capacity) {
+            this.traceCapacity = capacity;
+            return this;
+        }
+
+        public EventBusOptions build() {
+            return new EventBusOptions(this);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+/**
+ * Перечисление: EventPriority.
+ *
+ * Приоритет события определяет полосу (lane) очереди подписки: дренаж сначала
+ * выбирает более высокие полосы. Полосы настраиваются в SubscriptionOptions;
+ * если полоса для приоритета не настроена, событие идёт в основную (NORMAL).
+ *
+ * @author Евгений Платонов
+ */
+
+public enum EventPriority {
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,55 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+/**
+ * Контракт: EventRing.
+ *
+ * Канал на заранее созданном кольце изменяемых слотов (в духе Disruptor).
+ * Публикация: seq = next(); заполнить get(seq); publish(seq) — в установившемся
+ * режиме без аллокаций. Каждый потребитель ведёт свою последовательность и видит все
+ * события, опубликованные после его подписки; публикующий ждёт, если кольцо
+ * заполнено до самого медленного потребителя.
+ *
+ * @author Евгений Платонов
+ */
+
+public interface EventRing<T> {
+
+    String name();
+
+    int bufferSize();
+
+    /**
+     * Занимает следующий слот; ждёт (spin/yield/park), пока самый медленный потребитель
+     * не освободит место. Каждый занятый слот обязательно публикуется через publish(seq).
+     * После остановки шины (EventBus.drain) бросает IllegalStateException.
+     */
+    long next();
+
+    /**
+     * Неблокирующий вариант next(): -1, если кольцо заполнено или шина остановлена.
+     */
+    long tryNext();
+
+    T get(long sequence);
+
+    void publish(long sequence);
+
+    EventBus.Subscription subscribe(RingEventHandler<? super T> handler);
+
+    /**
+     * Последняя занятая последовательность (-1, пока публикаций не было).
+     */
+    long cursor();
+
+    /**
+     * Сколько слотов можно занять без ожидания.
+     */
+    int remainingCapacity();
+}
@@ -0,0 +1,76 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Контракт: EventStream.
+ *
+ * Конвейер операторов поверх одной подписки шины (EventBus.stream). Операторы лишь
+ * описывают конвейер; подписка создаётся терминальной операцией to() или publish(),
+ * и у каждой такой подписки своё состояние операторов. Все стадии выполняются
+ * в дренаже подписки по одному событию, без собственных потоков и блокировок:
+ * временные операторы ставят срабатывания на таймер шины, а тот кладёт их в очередь
+ * подписки как служебные метки — состояние стадий трогает только поток дренажа.
+ *
+ * null, возвращённый map, отбрасывает событие. Исключение стадии считается ошибкой
+ * обработчика подписки.
+ *
+ * @author Евгений Платонов
+ */
+
+public interface EventStream<T> {
+
+    <R> EventStream<R> map(Function<? super T, ? extends R> mapper);
+
+    EventStream<T> filter(Predicate<? super T> predicate);
+
+    /**
+     * Неперекрывающиеся окна: окно открывается первым событием и через sizeMillis
+     * выдаётся списком. Пустые окна не выдаются.
+     */
+    EventStream<List<T>> window(long sizeMillis);
+
+    /**
+     * Скользящее окно: каждые slideMillis, пока в окне есть события, выдаёт события
+     * последних sizeMillis.
+     */
+    EventStream<List<T>> window(long sizeMillis, long slideMillis);
+
+    /**
+     * Выдаёт последнее событие серии, после которого quietMillis не было новых.
+     */
+    EventStream<T> debounce(long quietMillis);
+
+    /**
+     * Пропускает не больше одного события за intervalMillis (первое), остальные отбрасывает.
+     */
+    EventStream<T> throttle(long intervalMillis);
+
+    /**
+     * Свёртка по ключу: на каждое событие выдаёт обновлённое значение его ключа
+     * (reducer(предыдущее, событие); первое событие ключа — как есть).
+     * Состояние хранится для всех встреченных ключей, пока жива подписка.
+     */
+    <K> EventStream<T> reduceByKey(Function<? super T, ? extends K> keyFn, BinaryOperator<T> reducer);
+
+    /**
+     * Терминальная операция: подписывает конвейер с обработчиком результата.
+     */
+    EventBus.Subscription to(EventHandler<? super T> handler);
+
+    /**
+     * Терминальная операция: результат публикуется обратно в шину как производный
+     * поток событий (в потоке дренажа, с обычной диспетчеризацией по типу).
+     */
+    EventBus.Subscription publish();
+}
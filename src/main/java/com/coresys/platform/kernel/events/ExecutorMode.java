@@ -0,0 +1,28 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+/**
+ * Перечисление: ExecutorMode.
+ *
+ * PLATFORM — фиксированный пул платформенных потоков с ограниченной очередью (по умолчанию).
+ * VIRTUAL — поток на задачу на виртуальных потоках (JDK 21+); на старых JVM — PLATFORM.
+ * AUTO — VIRTUAL, если JVM их поддерживает, иначе PLATFORM.
+ *
+ * VIRTUAL и AUTO включаются только явно: число потоков и очередь пула к ним не применяются,
+ * обратного давления CallerRunsPolicy нет, а файловый ввод-вывод внутри synchronized
+ * (сброс dead letter на диск) прикрепляет виртуальный поток к его несущему.
+ *
+ * @author Евгений Платонов
+ */
+
+public enum ExecutorMode {
+    AUTO,
+    PLATFORM,
+    VIRTUAL
+}
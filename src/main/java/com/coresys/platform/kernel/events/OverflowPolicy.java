@@ -18,5 +18,10 @@ package com.coresys.platform.kernel.events;
 public enum OverflowPolicy {
     DROP,
     BLOCK,
-    DEAD_LETTER
+    DEAD_LETTER,
+    /**
+     * На каждый ключ (SubscriptionOptions.conflationKey) в очереди не более одного события:
+     * новое событие заменяет ещё не обработанное с тем же ключом.
+     */
+    CONFLATE
 }
@@ -0,0 +1,22 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+/**
+ * Контракт: PrioritizedEvent.
+ *
+ * Класс события может сам объявить свой приоритет; явный приоритет,
+ * переданный публикующим в EventBus.publish(event, priority), важнее.
+ *
+ * @author Евгений Платонов
+ */
+
+public interface PrioritizedEvent {
+
+    EventPriority priority();
+}
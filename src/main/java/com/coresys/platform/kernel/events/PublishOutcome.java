@@ -0,0 +1,80 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+import java.util.List;
+
+/**
+ * Результат неблокирующей публикации: PublishOutcome.
+ *
+ * delivered — число подписок, принявших событие (в очередь, слиянием CONFLATE или
+ * прямым вызовом DIRECT); dropped — число подписок, не принявших событие из-за
+ * переполнения или, для DIRECT, из-за ограничителя темпа. saturated — идентификаторы
+ * этих подписок (как в метриках). Остановленная шина (EventBus.drain) не принимает
+ * событие вовсе и возвращает CLOSED: в отличие от NONE (подписчиков нет) isRejected() = true.
+ *
+ * @author Евгений Платонов
+ */
+
+public final class PublishOutcome {
+
+    public static final PublishOutcome NONE = new PublishOutcome(0, 0, List.of());
+
+    /**
+     * Шина остановлена: событие не опубликовано (учтено в DrainReport.rejected()).
+     */
+    public static final PublishOutcome CLOSED = new PublishOutcome(0, 0, List.of(), true);
+
+    private final int delivered;
+    private final int dropped;
+    private final List<String> saturated;
+    private final boolean rejected;
+
+    public PublishOutcome(int delivered, int dropped, List<String> saturated) {
+        this(delivered, dropped, saturated, false);
+    }
+
+    private PublishOutcome(int delivered, int dropped, List<String> saturated, boolean rejected) {
+        this.delivered = Math.max(0, delivered);
+        this.dropped = Math.max(0, dropped);
+        this.saturated = saturated == null ? List.of() : List.copyOf(saturated);
+        this.rejected = rejected;
+    }
+
+    public int delivered() {
+        return delivered;
+    }
+
+    public int dropped() {
+        return dropped;
+    }
+
+    public List<String> saturated() {
+        return saturated;
+    }
+
+    /**
+     * true, если шина была остановлена и событие не дошло ни до одной подписки.
+     */
+    public boolean isRejected() {
+        return rejected;
+    }
+
+    /**
+     * true, если шина приняла событие и ни одна подписка не отказала в его приёме.
+     */
+    public boolean isFullyDelivered() {
+        return !rejected && dropped == 0;
+    }
+
+    @Override
+    public String toString() {
+        if (rejected) return "PublishOutcome{rejected}";
+        return "PublishOutcome{delivered=" + delivered + ", dropped=" + dropped + ", saturated=" + saturated + "}";
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+/**
+ * Перечисление: QueueType.
+ *
+ * Реализация внутренней очереди подписки. ARRAY_BLOCKING — кольцевой массив по схеме ArrayBlockingQueue
+ * (один lock на offer/poll); MPSC_RING — lock-free кольцевой буфер для нескольких
+ * публикующих потоков и одного потребителя (ёмкость округляется до степени двойки).
+ *
+ * @author Евгений Платонов
+ */
+
+public enum QueueType {
+    ARRAY_BLOCKING,
+    MPSC_RING
+}
@@ -0,0 +1,33 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+/**
+ * Перечисление: RateLimitAction.
+ *
+ * Что делает дренаж подписки с событием, на которое не хватило разрешений
+ * ограничителя темпа (SubscriptionOptions.rateLimit).
+ *
+ * @author Евгений Платонов
+ */
+
+public enum RateLimitAction {
+    /**
+     * Событие остаётся в очереди; дренаж отпускает поток и продолжает по таймеру,
+     * когда появится разрешение.
+     */
+    DELAY,
+    DROP,
+    /**
+     * Полосы подписки сливают события по SubscriptionOptions.conflationKey уже при постановке:
+     * пока дренаж ждёт разрешения, новое событие заменяет стоящее в очереди событие того же
+     * ключа, и обработчик получит последнее событие каждого ключа. Ключей в очереди не больше
+     * её ёмкости; событие нового ключа сверх неё обрабатывается политикой переполнения.
+     */
+    CONFLATE
+}
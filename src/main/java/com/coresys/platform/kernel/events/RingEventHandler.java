@@ -0,0 +1,21 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events;
+
+/**
+ * Контракт: RingEventHandler.
+ *
+ * Потребитель кольца EventRing. slot — переиспользуемый объект кольца, действителен
+ * только во время вызова; endOfBatch = true на последнем доступном сейчас событии.
+ *
+ * @author Евгений Платонов
+ */
+@FunctionalInterface
+public interface RingEventHandler<T> {
+    void onEvent(T slot, long sequence, boolean endOfBatch) throws Exception;
+}
@@ -7,6 +7,11 @@
 
 package com.coresys.platform.kernel.events;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
 /**
  * Параметры: SubscriptionOptions.
  *
@@ -19,20 +24,64 @@ public final class SubscriptionOptions {
 
     private final int queueCapacity;
     private final OverflowPolicy overflowPolicy;
+    private final QueueType queueType;
+    private final DeliveryMode deliveryMode;
+    private final Function<Object, ?> conflationKey;
+    private final Predicate<Object> filter;
+    private final int partitions;
+    private final Function<Object, ?> partitionKey;
     private final String name;
 
     private final long slowHandlerThresholdMillis;
     private final SlowHandlerPolicy slowHandlerPolicy;
     private final long blacklistDurationMillis;
 
+    private final int maxBatchSize;
+    private final long maxLingerMillis;
+
+    private final Map<EventPriority, Integer> laneCapacities;
+    private final Map<EventPriority, OverflowPolicy> lanePolicies;
+    private final int starvationLimit;
+    private final int drainPriority;
+
+    private final double rateLimitPerSecond;
+    private final int rateLimitBurst;
+    private final RateLimitAction rateLimitAction;
+
     private SubscriptionOptions(Builder b) {
         this.queueCapacity = Math.max(1, b.queueCapacity);
         this.overflowPolicy = b.overflowPolicy == null ? OverflowPolicy.DROP : b.overflowPolicy;
+        this.queueType = b.queueType == null ? QueueType.ARRAY_BLOCKING : b.queueType;
+        this.deliveryMode = b.deliveryMode == null ? DeliveryMode.QUEUED : b.deliveryMode;
+        this.conflationKey = b.conflationKey == null ? Object::getClass : b.conflationKey;
+        this.filter = b.filter;
+        this.partitions = Math.max(1, b.partitions);
+        this.partitionKey = b.partitionKey == null ? Function.identity() : b.partitionKey;
         this.name = b.name == null ? "" : b.name;
 
         this.slowHandlerThresholdMillis = Math.max(0, b.slowHandlerThresholdMillis);
         this.slowHandlerPolicy = b.slowHandlerPolicy == null ? SlowHandlerPolicy.NONE : b.slowHandlerPolicy;
         this.blacklistDurationMillis = Math.max(0, b.blacklistDurationMillis);
+
+        this.maxBatchSize = Math.max(1, b.maxBatchSize);
+        this.maxLingerMillis = Math.max(0, b.maxLingerMillis);
+
+        this.laneCapacities = new EnumMap<>(EventPriority.class);
+        this.lanePolicies = new EnumMap<>(EventPriority.class);
+        for (Map.Entry<EventPriority, Integer> e : b.laneCapacities.entrySet()) {
+            OverflowPolicy p = b.lanePolicies.get(e.getKey());
+            laneCapacities.put(e.getKey(), Math.max(1, e.getValue()));
+            lanePolicies.put(e.getKey(), p == null ? OverflowPolicy.DROP : p);
+        }
+        // Основная полоса есть всегда и задаётся queueCapacity/overflowPolicy.
+        laneCapacities.put(EventPriority.NORMAL, queueCapacity);
+        lanePolicies.put(EventPriority.NORMAL, overflowPolicy);
+        this.starvationLimit = Math.max(1, b.starvationLimit);
+        this.drainPriority = b.drainPriority;
+
+        this.rateLimitPerSecond = b.rateLimitPerSecond > 0 ? b.rateLimitPerSecond : 0.0;
+        this.rateLimitBurst = Math.max(1, b.rateLimitBurst);
+        this.rateLimitAction = b.rateLimitAction == null ? RateLimitAction.DELAY : b.rateLimitAction;
     }
 
     public int queueCapacity() {
@@ -43,6 +92,43 @@ public final class SubscriptionOptions {
         return overflowPolicy;
     }
 
+    public QueueType queueType() {
+        return queueType;
+    }
+
+    public DeliveryMode deliveryMode() {
+        return deliveryMode;
+    }
+
+    /**
+     * Ключ слияния для OverflowPolicy.CONFLATE; по умолчанию — класс события.
+     */
+    public Function<Object, ?> conflationKey() {
+        return conflationKey;
+    }
+
+    /**
+     * Фильтр, проверяемый в публикующем потоке до постановки в очередь (null — без фильтра).
+     */
+    public Predicate<Object> filter() {
+        return filter;
+    }
+
+    /**
+     * Число партиций подписки: у каждой своя очередь ёмкостью queueCapacity и свой дренаж.
+     */
+    public int partitions() {
+        return partitions;
+    }
+
+    /**
+     * Ключ партиционирования; события с равными ключами обрабатываются по порядку.
+     * По умолчанию ключ — само событие.
+     */
+    public Function<Object, ?> partitionKey() {
+        return partitionKey;
+    }
+
     public String name() {
         return name;
     }
@@ -59,6 +145,68 @@ public final class SubscriptionOptions {
         return blacklistDurationMillis;
     }
 
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long maxLingerMillis() {
+        return maxLingerMillis;
+    }
+
+    /**
+     * Настроена ли отдельная полоса для приоритета (NORMAL — всегда).
+     */
+    public boolean hasLane(EventPriority priority) {
+        return laneCapacities.containsKey(priority);
+    }
+
+    /**
+     * Ёмкость полосы (на партицию); 0 — полоса не настроена.
+     */
+    public int laneCapacity(EventPriority priority) {
+        Integer c = laneCapacities.get(priority);
+        return c == null ? 0 : c;
+    }
+
+    public OverflowPolicy laneOverflowPolicy(EventPriority priority) {
+        OverflowPolicy p = lanePolicies.get(priority);
+        return p == null ? overflowPolicy : p;
+    }
+
+    /**
+     * Сколько событий подряд дренаж берёт из более высокой полосы, пока более низкая
+     * не пуста, прежде чем взять одно событие из низкой (защита от голодания).
+     */
+    public int starvationLimit() {
+        return starvationLimit;
+    }
+
+    /**
+     * Очерёдность при остановке шины (EventBus.drain): подписки с большим значением
+     * дренируются первыми, остальные ждут. По умолчанию 0.
+     */
+    public int drainPriority() {
+        return drainPriority;
+    }
+
+    /**
+     * Предельный темп обработки, событий в секунду; 0 — без ограничения.
+     */
+    public double rateLimitPerSecond() {
+        return rateLimitPerSecond;
+    }
+
+    /**
+     * Сколько событий можно обработать подряд без пауз после простоя (ёмкость ведра).
+     */
+    public int rateLimitBurst() {
+        return rateLimitBurst;
+    }
+
+    public RateLimitAction rateLimitAction() {
+        return rateLimitAction;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -66,12 +214,30 @@ public final class SubscriptionOptions {
     public static final class Builder {
         private int queueCapacity = 1024;
         private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+        private QueueType queueType = QueueType.ARRAY_BLOCKING;
+        private DeliveryMode deliveryMode = DeliveryMode.QUEUED;
+        private Function<Object, ?> conflationKey;
+        private Predicate<Object> filter;
+        private int partitions = 1;
+        private Function<Object, ?> partitionKey;
         private String name;
 
         private long slowHandlerThresholdMillis;
         private SlowHandlerPolicy slowHandlerPolicy = SlowHandlerPolicy.NONE;
         private long blacklistDurationMillis;
 
+        private int maxBatchSize = 256;
+        private long maxLingerMillis;
+
+        private final Map<EventPriority, Integer> laneCapacities = new EnumMap<>(EventPriority.class);
+        private final Map<EventPriority, OverflowPolicy> lanePolicies = new EnumMap<>(EventPriority.class);
+        private int starvationLimit = 32;
+        private int drainPriority;
+
+        private double rateLimitPerSecond;
+        private int rateLimitBurst = 1;
+        private RateLimitAction rateLimitAction = RateLimitAction.DELAY;
+
         public Builder queueCapacity(int queueCapacity) {
             this.queueCapacity = queueCapacity;
             return this;
@@ -82,6 +248,35 @@ public final class SubscriptionOptions {
             return this;
         }
 
+        public Builder queueType(QueueType queueType) {
+            this.queueType = queueType;
+            return this;
+        }
+
+        public Builder deliveryMode(DeliveryMode deliveryMode) {
+            this.deliveryMode = deliveryMode;
+            return this;
+        }
+
+        public Builder conflationKey(Function<Object, ?> keyExtractor) {
+            this.conflationKey = keyExtractor;
+            return this;
+        }
+
+        public Builder filter(Predicate<Object> filter) {
+            this.filter = filter;
+            return this;
+        }
+
+        /**
+         * Параллельная доставка по партициям; обработчик должен быть потокобезопасным при partitions > 1.
+         */
+        public Builder partitions(int partitions, Function<Object, ?> partitionKey) {
+            this.partitions = partitions;
+            this.partitionKey = partitionKey;
+            return this;
+        }
+
         public Builder name(String name) {
             this.name = name;
             return this;
@@ -102,6 +297,62 @@ public final class SubscriptionOptions {
             return this;
         }
 
+        /**
+         * Максимальный размер пачки для BatchEventHandler.
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Сколько ждать добора неполной пачки для BatchEventHandler (0 — не ждать).
+         */
+        public Builder maxLingerMillis(long lingerMillis) {
+            this.maxLingerMillis = lingerMillis;
+            return this;
+        }
+
+        /**
+         * Отдельная полоса для приоритета со своей ёмкостью и политикой переполнения.
+         * Для NORMAL равносильно queueCapacity(capacity) + overflowPolicy(policy).
+         */
+        public Builder lane(EventPriority priority, int capacity, OverflowPolicy policy) {
+            if (priority == null) return this;
+            if (priority == EventPriority.NORMAL) {
+                this.queueCapacity = capacity;
+                this.overflowPolicy = policy;
+            } else {
+                laneCapacities.put(priority, capacity);
+                lanePolicies.put(priority, policy);
+            }
+            return this;
+        }
+
+        public Builder starvationLimit(int limit) {
+            this.starvationLimit = limit;
+            return this;
+        }
+
+        public Builder drainPriority(int priority) {
+            this.drainPriority = priority;
+            return this;
+        }
+
+        /**
+         * Ограничение темпа подписки (token bucket, общий для всех партиций): не более
+         * permitsPerSecond событий в секунду и не более burst подряд. Применяется
+         * в дренаже без усыпления потока пула; в режиме DIRECT очереди нет, и лишние
+         * события отбрасываются при любом action. Пауза DELAY отсчитывается таймером
+         * шины с шагом 1 мс: для темпа выше 1000/с burst должен покрывать хотя бы 1 мс.
+         */
+        public Builder rateLimit(double permitsPerSecond, int burst, RateLimitAction action) {
+            this.rateLimitPerSecond = permitsPerSecond;
+            this.rateLimitBurst = burst;
+            this.rateLimitAction = action;
+            return this;
+        }
+
         public SubscriptionOptions build() {
             return new SubscriptionOptions(this);
         }
@@ -0,0 +1,155 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import java.util.Collection;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Очередь подписки: BlockingSubscriptionQueue.
+ *
+ * Реализация по умолчанию: кольцевой массив под одной блокировкой, как в ArrayBlockingQueue.
+ * Момент постановки хранится в параллельном массиве long[] под той же блокировкой,
+ * поэтому offer/put не создают обёрток на каждое событие.
+ *
+ * @author Евгений Платонов
+ */
+
+final class BlockingSubscriptionQueue implements SubscriptionQueue {
+
+    private final Object[] items;
+    private final long[] enqueuedAt;
+    private final int capacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+
+    // Под lock.
+    private int head;
+    private int tail;
+    private int count;
+
+    // Пишет и читает только потребитель.
+    private long polledEnqueuedNanos;
+
+    BlockingSubscriptionQueue(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.items = new Object[this.capacity];
+        this.enqueuedAt = new long[this.capacity];
+    }
+
+    @Override
+    public boolean offer(Object event, long enqueuedNanos) {
+        if (event == null) throw new NullPointerException("event");
+        lock.lock();
+        try {
+            if (count == capacity) return false;
+            insert(event, enqueuedNanos);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Object event, long enqueuedNanos) throws InterruptedException {
+        if (event == null) throw new NullPointerException("event");
+        lock.lockInterruptibly();
+        try {
+            while (count == capacity) notFull.await();
+            insert(event, enqueuedNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object poll() {
+        lock.lock();
+        try {
+            if (count == 0) return null;
+            polledEnqueuedNanos = enqueuedAt[head];
+            Object event = extract();
+            notFull.signal();
+            return event;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long polledEnqueuedNanos() {
+        return polledEnqueuedNanos;
+    }
+
+    @Override
+    public int drainTo(Collection<Object> sink, long[] enqueuedNanos, int maxEvents) {
+        int limit = Math.min(maxEvents, enqueuedNanos.length);
+        lock.lock();
+        try {
+            int n = 0;
+            while (n < limit && count > 0) {
+                enqueuedNanos[n++] = enqueuedAt[head];
+                sink.add(extract());
+            }
+            if (n > 0) notFull.signalAll();
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            while (count > 0) extract();
+            head = 0;
+            tail = 0;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void insert(Object event, long enqueuedNanos) {
+        items[tail] = event;
+        enqueuedAt[tail] = enqueuedNanos;
+        if (++tail == capacity) tail = 0;
+        count++;
+    }
+
+    private Object extract() {
+        Object event = items[head];
+        items[head] = null;
+        if (++head == capacity) head = 0;
+        count--;
+        return event;
+    }
+}
@@ -0,0 +1,518 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.DeadLetter;
+import com.coresys.platform.kernel.events.DeadLetterChannel;
+import com.coresys.platform.kernel.events.DeadLetterReason;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Dead-letter канал шины событий: DeadLetterStore.
+ *
+ * Держит последние записи в ограниченном кольце в памяти. Вытесненные записи
+ * (если задан каталог) асинхронно дописываются в файл подписки на executor-е шины,
+ * чтобы публикующий поток не ждал диска. На диск попадают только Serializable события.
+ * Очередь на запись ограничена отдельно от кольца (spillBacklog): публикующий поток
+ * не ждёт диска и при всплеске, поэтому записи сверх неё теряются и учитываются в lost().
+ *
+ * Повторная доставка идёт тиками таймера шины с квотой по скорости и не переполняет
+ * очередь подписки: если места нет, запись ждёт следующего тика. Порядок — порядок отказов:
+ * сначала вытесненные на диск (более старые), затем записи из памяти. Воспроизводится только
+ * то, что было в канале на момент запуска: повторный отказ во время replay попадает в канал
+ * новой записью и ждёт следующего replay, а не зацикливает текущий.
+ *
+ * @author Евгений Платонов
+ */
+
+final class DeadLetterStore implements DeadLetterChannel {
+
+    private static final Logger LOG = Logger.getLogger(DeadLetterStore.class.getName());
+
+    private static final long REPLAY_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private static final String SPILL_SUFFIX = ".dlq";
+    private static final String REPLAY_SUFFIX = ".dlq.replay";
+
+    /**
+     * Подписка, в которую воспроизводятся события.
+     */
+    interface ReplayTarget {
+
+        boolean isActive();
+
+        boolean redeliver(Object event);
+    }
+
+    private final DefaultEventBus bus;
+    private final int capacity;
+    private final Path spillDir;
+    private final int spillBacklogLimit;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<DeadLetter> ring = new ArrayDeque<>();
+    private final ArrayDeque<DeadLetter> spillBacklog = new ArrayDeque<>();
+    private final AtomicBoolean spillScheduled = new AtomicBoolean(false);
+
+    // Файлы подписок пишет задача вытеснения, читает replay; переименование — только под этим lock-ом.
+    private final Object ioLock = new Object();
+    private final Map<String, AtomicLong> spilledCounts = new ConcurrentHashMap<>();
+    private final Map<String, ReplayTask> replays = new ConcurrentHashMap<>();
+    private final LongAdder lost = new LongAdder();
+
+    DeadLetterStore(DefaultEventBus bus, int capacity, Path spillDir, int spillBacklog) {
+        this.bus = bus;
+        this.capacity = Math.max(0, capacity);
+        this.spillDir = spillDir;
+        this.spillBacklogLimit = Math.max(1, spillBacklog);
+    }
+
+    void add(DeadLetter letter) {
+        DeadLetter evicted;
+        synchronized (lock) {
+            if (capacity == 0) {
+                evicted = letter;
+            } else {
+                evicted = ring.size() >= capacity ? ring.pollFirst() : null;
+                ring.addLast(letter);
+            }
+        }
+        if (evicted != null) {
+            spill(evicted);
+        }
+    }
+
+    @Override
+    public long lost() {
+        return lost.sum();
+    }
+
+    @Override
+    public int size() {
+        synchronized (lock) {
+            return ring.size();
+        }
+    }
+
+    @Override
+    public long spilled() {
+        long total = 0;
+        for (AtomicLong c : spilledCounts.values()) {
+            total += c.get();
+        }
+        return total;
+    }
+
+    @Override
+    public List<DeadLetter> snapshot(String subscriptionId) {
+        List<DeadLetter> out = new ArrayList<>();
+        synchronized (lock) {
+            for (DeadLetter d : ring) {
+                if (subscriptionId == null || subscriptionId.equals(d.subscriptionId())) {
+                    out.add(d);
+                }
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public Replay replay(String subscriptionId, int eventsPerSecond) {
+        if (subscriptionId == null) throw new IllegalArgumentException("subscriptionId must not be null");
+        if (eventsPerSecond <= 0) throw new IllegalArgumentException("eventsPerSecond must be > 0");
+
+        ReplayTask task = replays.compute(subscriptionId, (k, existing) ->
+                existing != null && !existing.isDone() ? existing : new ReplayTask(k, eventsPerSecond));
+        if (task.started.compareAndSet(false, true)) {
+            bus.scheduleOnExecutor(task, 0L);
+        }
+        return task;
+    }
+
+    @Override
+    public int purge(String subscriptionId) {
+        int removed = 0;
+        synchronized (lock) {
+            Iterator<DeadLetter> it = ring.iterator();
+            while (it.hasNext()) {
+                if (it.next().subscriptionId().equals(subscriptionId)) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        if (spillDir != null && subscriptionId != null) {
+            synchronized (ioLock) {
+                try {
+                    Files.deleteIfExists(spillFile(subscriptionId, SPILL_SUFFIX));
+                    Files.deleteIfExists(spillFile(subscriptionId, REPLAY_SUFFIX));
+                } catch (IOException ex) {
+                    LOG.log(Level.FINE, "Failed to purge dead-letter files for " + subscriptionId, ex);
+                }
+                spilledCounts.remove(subscriptionId);
+            }
+        }
+        return removed;
+    }
+
+    // ---------------------------------------------------------------- вытеснение на диск
+
+    private void spill(DeadLetter letter) {
+        if (spillDir == null || !(letter.event() instanceof Serializable)) {
+            lost.increment();
+            return;
+        }
+        synchronized (lock) {
+            if (spillBacklog.size() >= spillBacklogLimit) {
+                lost.increment();
+                return;
+            }
+            spillBacklog.addLast(letter);
+        }
+        scheduleSpill();
+    }
+
+    private void scheduleSpill() {
+        if (!spillScheduled.compareAndSet(false, true)) return;
+        try {
+            bus.executor().execute(this::spillPending);
+        } catch (RejectedExecutionException rex) {
+            spillScheduled.set(false);
+            LOG.log(Level.FINE, "Dead-letter spill rejected", rex);
+        }
+    }
+
+    private void spillPending() {
+        try {
+            synchronized (ioLock) {
+                Map<String, DataOutputStream> open = new HashMap<>();
+                try {
+                    Files.createDirectories(spillDir);
+                    while (true) {
+                        DeadLetter d;
+                        synchronized (lock) {
+                            d = spillBacklog.pollFirst();
+                        }
+                        if (d == null) break;
+
+                        byte[] payload = serialize(d.event());
+                        if (payload == null) {
+                            lost.increment();
+                            continue;
+                        }
+                        DataOutputStream out = open.get(d.subscriptionId());
+                        if (out == null) {
+                            OutputStream os = Files.newOutputStream(spillFile(d.subscriptionId(), SPILL_SUFFIX),
+                                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                            out = new DataOutputStream(new BufferedOutputStream(os));
+                            open.put(d.subscriptionId(), out);
+                        }
+                        writeRecord(out, d, payload);
+                        spilledCounts.computeIfAbsent(d.subscriptionId(), k -> new AtomicLong()).incrementAndGet();
+                    }
+                } finally {
+                    for (DataOutputStream out : open.values()) {
+                        try {
+                            out.close();
+                        } catch (IOException ignored) {
+                        }
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            LOG.log(Level.FINE, "Dead-letter spill failed", t);
+        } finally {
+            spillScheduled.set(false);
+            boolean more;
+            synchronized (lock) {
+                more = !spillBacklog.isEmpty();
+            }
+            if (more) scheduleSpill();
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, DeadLetter d, byte[] payload) throws IOException {
+        String err = d.error();
+        if (err.length() > MAX_ERROR_LENGTH) err = err.substring(0, MAX_ERROR_LENGTH);
+        out.writeUTF(d.reason().name());
+        out.writeLong(d.timestampMillis());
+        out.writeUTF(err);
+        out.writeInt(payload.length);
+        out.write(payload);
+    }
+
+    private static DeadLetter readRecord(DataInputStream in, String subscriptionId) throws IOException {
+        String reason;
+        try {
+            reason = in.readUTF();
+        } catch (EOFException eof) {
+            return null;
+        }
+        long ts = in.readLong();
+        String err = in.readUTF();
+        byte[] payload = new byte[in.readInt()];
+        in.readFully(payload);
+        Object event = deserialize(payload);
+        if (event == null) return null;
+        return new DeadLetter(subscriptionId, event, DeadLetterReason.valueOf(reason), err, ts);
+    }
+
+    private static byte[] serialize(Object event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(event);
+        } catch (IOException ex) {
+            LOG.log(Level.FINE, "Dead-letter event is not serializable: " + event.getClass().getName(), ex);
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] payload) throws IOException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return ois.readObject();
+        } catch (ClassNotFoundException ex) {
+            throw new IOException("Unknown dead-letter event class", ex);
+        }
+    }
+
+    private Path spillFile(String subscriptionId, String suffix) {
+        return spillDir.resolve(sanitize(subscriptionId) + suffix);
+    }
+
+    private static String sanitize(String s) {
+        if (s == null || s.isEmpty()) return "unknown";
+        StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '.' || c == '-' || c == '_') {
+                out.append(c);
+            } else {
+                out.append('_');
+            }
+        }
+        return out.toString();
+    }
+
+    // ---------------------------------------------------------------- повторная доставка
+
+    private final class ReplayTask implements Replay, Runnable {
+        final String subscriptionId;
+        final int eventsPerSecond;
+        final AtomicBoolean started = new AtomicBoolean(false);
+        final AtomicLong replayed = new AtomicLong();
+
+        volatile boolean cancelled;
+        volatile boolean done;
+
+        private double credit;
+        private DeadLetter pending;
+        private DataInputStream spillIn;
+
+        // Снимок на момент запуска: сколько записей на диске и какие из памяти воспроизводить.
+        private boolean initialized;
+        private long spillRemaining;
+        private Set<DeadLetter> fromRing;
+
+        ReplayTask(String subscriptionId, int eventsPerSecond) {
+            this.subscriptionId = subscriptionId;
+            this.eventsPerSecond = eventsPerSecond;
+        }
+
+        @Override
+        public void run() {
+            if (done) return;
+            try {
+                ReplayTarget target = bus.replayTarget(subscriptionId);
+                if (cancelled || target == null || !target.isActive()) {
+                    finish();
+                    return;
+                }
+
+                if (!initialized) init();
+
+                double perTick = eventsPerSecond * (REPLAY_TICK_NANOS / 1_000_000_000.0);
+                credit = Math.min(credit + perTick, Math.max(1.0, perTick) * 2);
+                int quota = (int) credit;
+                credit -= quota;
+
+                while (quota-- > 0) {
+                    DeadLetter d = next();
+                    if (d == null) {
+                        finish();
+                        return;
+                    }
+                    if (!target.redeliver(d.event())) {
+                        // Очередь подписки полна — ждём следующего тика.
+                        pending = d;
+                        break;
+                    }
+                    replayed.incrementAndGet();
+                }
+                bus.scheduleOnExecutor(this, REPLAY_TICK_NANOS);
+            } catch (Throwable t) {
+                LOG.log(Level.FINE, "Dead-letter replay failed for " + subscriptionId, t);
+                finish();
+            }
+        }
+
+        private void init() {
+            initialized = true;
+            if (spillDir != null) {
+                synchronized (ioLock) {
+                    AtomicLong c = spilledCounts.get(subscriptionId);
+                    spillRemaining = c == null ? 0L : c.get();
+                }
+            }
+            fromRing = Collections.newSetFromMap(new IdentityHashMap<>());
+            synchronized (lock) {
+                for (DeadLetter d : ring) {
+                    if (d.subscriptionId().equals(subscriptionId)) fromRing.add(d);
+                }
+            }
+        }
+
+        private DeadLetter next() throws IOException {
+            if (pending != null) {
+                DeadLetter d = pending;
+                pending = null;
+                return d;
+            }
+            DeadLetter spilled = nextSpilled();
+            if (spilled != null) return spilled;
+            if (fromRing.isEmpty()) return null;
+            synchronized (lock) {
+                Iterator<DeadLetter> it = ring.iterator();
+                while (it.hasNext()) {
+                    DeadLetter d = it.next();
+                    if (fromRing.remove(d)) {
+                        it.remove();
+                        return d;
+                    }
+                }
+            }
+            // Оставшиеся записи снимка успели вытесниться на диск — их продолжит следующий replay.
+            fromRing.clear();
+            return null;
+        }
+
+        private DeadLetter nextSpilled() throws IOException {
+            if (spillDir == null) return null;
+            // Записи дописываются в конец файла, поэтому первые spillRemaining — те, что были при запуске.
+            while (spillRemaining > 0) {
+                if (spillIn == null && !openSpill()) return null;
+
+                DeadLetter d = readRecord(spillIn, subscriptionId);
+                if (d != null) {
+                    spillRemaining--;
+                    AtomicLong c = spilledCounts.get(subscriptionId);
+                    if (c != null) c.decrementAndGet();
+                    return d;
+                }
+                spillIn.close();
+                spillIn = null;
+                synchronized (ioLock) {
+                    Files.deleteIfExists(spillFile(subscriptionId, REPLAY_SUFFIX));
+                }
+            }
+            return null;
+        }
+
+        private boolean openSpill() throws IOException {
+            synchronized (ioLock) {
+                Path replayFile = spillFile(subscriptionId, REPLAY_SUFFIX);
+                if (!Files.exists(replayFile)) {
+                    Path spillFile = spillFile(subscriptionId, SPILL_SUFFIX);
+                    if (!Files.exists(spillFile)) return false;
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+                spillIn = new DataInputStream(new BufferedInputStream(Files.newInputStream(replayFile)));
+                return true;
+            }
+        }
+
+        private void finish() {
+            if (done) return;
+            done = true;
+            if (pending != null) {
+                synchronized (lock) {
+                    ring.addFirst(pending);
+                }
+                pending = null;
+            }
+            if (spillIn != null) {
+                // Непрочитанный остаток файла сохраняем, чтобы следующий replay продолжил с него.
+                synchronized (ioLock) {
+                    Path replayFile = spillFile(subscriptionId, REPLAY_SUFFIX);
+                    Path rest = spillFile(subscriptionId, REPLAY_SUFFIX + ".tmp");
+                    try (DataInputStream in = spillIn; OutputStream out = Files.newOutputStream(rest)) {
+                        in.transferTo(out);
+                    } catch (IOException ex) {
+                        LOG.log(Level.FINE, "Failed to keep dead-letter replay remainder for " + subscriptionId, ex);
+                    }
+                    try {
+                        Files.move(rest, replayFile, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException ex) {
+                        LOG.log(Level.FINE, "Failed to keep dead-letter replay remainder for " + subscriptionId, ex);
+                    }
+                }
+                spillIn = null;
+            }
+            replays.remove(subscriptionId, this);
+        }
+
+        @Override
+        public long replayed() {
+            return replayed.get();
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
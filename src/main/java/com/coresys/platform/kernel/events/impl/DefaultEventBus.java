@@ -7,28 +7,50 @@
 
 package com.coresys.platform.kernel.events.impl;
 
+import com.coresys.platform.kernel.events.BatchEventHandler;
+import com.coresys.platform.kernel.events.DeadLetterChannel;
+import com.coresys.platform.kernel.events.DeliveryMode;
+import com.coresys.platform.kernel.events.DrainReport;
 import com.coresys.platform.kernel.events.EventBus;
+import com.coresys.platform.kernel.events.EventBusOptions;
 import com.coresys.platform.kernel.events.EventHandler;
-import com.coresys.platform.kernel.events.OverflowPolicy;
-import com.coresys.platform.kernel.events.SlowHandlerPolicy;
+import com.coresys.platform.kernel.events.EventPriority;
+import com.coresys.platform.kernel.events.EventRing;
+import com.coresys.platform.kernel.events.EventStream;
+import com.coresys.platform.kernel.events.PrioritizedEvent;
+import com.coresys.platform.kernel.events.PublishOutcome;
 import com.coresys.platform.kernel.events.SubscriptionOptions;
+import com.coresys.platform.kernel.events.journal.EventJournal;
 import com.coresys.platform.kernel.events.metrics.EventBusMetrics;
 import com.coresys.platform.kernel.events.metrics.EventBusMetricsSnapshot;
+import com.coresys.platform.kernel.events.metrics.EventTrace;
 import com.coresys.platform.kernel.events.metrics.SubscriptionMetricsSnapshot;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,7 +58,9 @@ import java.util.logging.Logger;
  * Шина событий ядра (реализация по умолчанию).
  *
  * Поддерживает подписки по типу события и доставку через общий ExecutorService.
- * Для каждой подписки создаётся внутренняя очередь, применяются политики переполнения,
+ * Для каждой подписки создаётся внутренняя очередь (см. EventSubscription); поток пула
+ * выделяется подписке только пока в её очереди есть события, поэтому тысячи подписок
+ * делят небольшой пул. Применяются политики переполнения,
  * а также контроль «медленных» обработчиков (лог/отключение/временный blacklist).
  *
  * @author Евгений Платонов
@@ -46,236 +70,536 @@ public final class DefaultEventBus implements EventBus, EventBusMetrics {
 
     private static final Logger LOG = Logger.getLogger(DefaultEventBus.class.getName());
 
-    private static final long DEFAULT_BLACKLIST_MILLIS = 5_000L;
-
-    private static final class Sub<E> implements Subscription {
-        final long id;
-        final Class<E> type;
-        final EventHandler<? super E> handler;
-        final SubscriptionOptions options;
-        final BlockingQueue<Object> queue;
-        final Executor executor;
-
-        final LongAdder handled = new LongAdder();
-        final LongAdder errors = new LongAdder();
-        final LongAdder dropped = new LongAdder();
-        final LongAdder totalHandlerNanos = new LongAdder();
-        final AtomicLong maxHandlerNanos = new AtomicLong(0);
-
-        volatile boolean active = true;
-        volatile long blacklistUntilNanos = 0L;
-        volatile Runnable removeSelf = () -> { };
-
-        // Сентинел для корректного завершения потока-помпы подписки.
-        private static final Object POISON = new Object();
-
-        Sub(long id, Class<E> type, EventHandler<? super E> handler, SubscriptionOptions options, Executor executor) {
-            this.id = id;
-            this.type = type;
-            this.handler = handler;
-            this.options = options;
-            this.executor = executor;
-            this.queue = new ArrayBlockingQueue<>(options.queueCapacity());
-            startPump();
-        }
-
-        String metricsId() {
-            String n = options.name();
-            if (n != null && !n.isBlank()) return n;
-            return type.getName() + "#" + id;
-        }
-
-        private void startPump() {
-            executor.execute(() -> {
-                while (active) {
-                    try {
-                        Object ev = queue.take();
-                        if (ev == POISON) break;
-                        if (!active) break;
-
-                        long now = System.nanoTime();
-                        long until = blacklistUntilNanos;
-                        if (until > now) {
-                            dropped.increment();
-                            continue;
-                        }
-
-                        if (type.isInstance(ev)) {
-                            long start = System.nanoTime();
-                            try {
-                                handler.onEvent(type.cast(ev));
-                            } catch (Throwable t) {
-                                errors.increment();
-                                if (LOG.isLoggable(Level.FINE)) {
-                                    LOG.log(Level.FINE, "Event handler failed for " + metricsId(), t);
-                                }
-                            } finally {
-                                long dur = System.nanoTime() - start;
-                                handled.increment();
-                                totalHandlerNanos.add(dur);
-                                maxHandlerNanos.accumulateAndGet(dur, Math::max);
-                                applySlowPolicyIfNeeded(dur);
-                            }
-                        }
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        return;
-                    } catch (Throwable t) {
-                        if (LOG.isLoggable(Level.FINE)) {
-                            LOG.log(Level.FINE, "EventBus pump error for " + metricsId(), t);
-                        }
-                    }
-                }
-            });
+    private static final EventSubscription<?>[] NO_SUBS = new EventSubscription<?>[0];
+
+    private static final long DRAIN_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    /**
+     * План доставки для конкретного класса события: плоский массив подходящих подписок
+     * без дублей. Действителен, пока версия топологии подписок не изменилась.
+     */
+    private static final class DispatchPlan {
+        final long version;
+        final EventSubscription<?>[] targets;
+
+        DispatchPlan(long version, EventSubscription<?>[] targets) {
+            this.version = version;
+            this.targets = targets;
         }
+    }
 
-        void offer(Object event) {
-            if (!active) return;
+    private static final class StickyEntry {
+        final Object event;
+        final long seq;
 
-            if (options.overflowPolicy() == OverflowPolicy.BLOCK) {
-                try {
-                    queue.put(event);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                }
-                return;
+        StickyEntry(Object event, long seq) {
+            this.event = event;
+            this.seq = seq;
+        }
+    }
+
+    private final ExecutorService exec;
+    final DeadLetterStore deadLetters;
+    private final MappedEventJournal journal;
+    private final TimerWheel timer = new TimerWheel("coresys-events-timer");
+    private final RequestTable requests = new RequestTable(timer);
+    private final Map<Class<?>, CopyOnWriteArrayList<EventSubscription<?>>> subs = new ConcurrentHashMap<>();
+    private final Map<Class<?>, DispatchPlan> plans = new ConcurrentHashMap<>();
+    private final List<RingChannel<?>> rings = new CopyOnWriteArrayList<>();
+    private final AtomicLong topologyVersion = new AtomicLong(0);
+    private final AtomicLong idSeq = new AtomicLong(0);
+    private final LongAdder publishedTotal = new LongAdder();
+
+    // После начала drain() шина не принимает публикации.
+    private volatile boolean closed;
+    private final LongAdder rejected = new LongAdder();
+
+    // Последнее sticky-событие на класс, порядок — от давно опубликованного к свежему (LRU).
+    // Под stickyLock только кэш и номер публикации, доставка — вне блокировки. Новая подписка
+    // видит каждое sticky-событие ровно один раз: событие с номером не больше её
+    // stickyWatermark приходит из кэша, остальные — живыми.
+    private final Object stickyLock = new Object();
+    private final Map<Class<?>, StickyEntry> sticky;
+    private final int stickyCapacity;
+    private long stickySeq;
+
+    // Выборочная трассировка publish() (null — выключена).
+    private final EventTracer tracer;
+
+    public DefaultEventBus(ExecutorService exec) {
+        this(exec, EventBusOptions.defaults());
+    }
+
+    public DefaultEventBus(ExecutorService exec, EventBusOptions options) {
+        this.exec = Objects.requireNonNull(exec, "exec");
+        EventBusOptions opt = options == null ? EventBusOptions.defaults() : options;
+        this.deadLetters = new DeadLetterStore(this, opt.deadLetterCapacity(), opt.deadLetterSpillDir(),
+                opt.deadLetterSpillBacklog());
+        this.journal = new MappedEventJournal(opt.journalDir(), opt.journalSegmentBytes());
+        this.stickyCapacity = opt.stickyCapacity();
+        this.tracer = opt.traceSampleRate() > 0 ? new EventTracer(opt.traceSampleRate(), opt.traceCapacity()) : null;
+        this.sticky = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Class<?>, StickyEntry> eldest) {
+                return size() > stickyCapacity;
             }
+        };
+    }
+
+    @Override
+    public <E> Subscription subscribe(Class<E> eventType, EventHandler<? super E> handler, SubscriptionOptions options) {
+        Objects.requireNonNull(eventType, "eventType");
+        Objects.requireNonNull(handler, "handler");
+        SubscriptionOptions opt = options == null ? SubscriptionOptions.builder().build() : options;
+
+        return register(new EventSubscription<>(idSeq.incrementAndGet(), eventType, handler, null, opt, this));
+    }
+
+    @Override
+    public <E> Subscription subscribeBatch(Class<E> eventType, BatchEventHandler<? super E> handler, SubscriptionOptions options) {
+        Objects.requireNonNull(eventType, "eventType");
+        Objects.requireNonNull(handler, "handler");
+        SubscriptionOptions opt = options == null ? SubscriptionOptions.builder().build() : options;
+
+        return register(new EventSubscription<>(idSeq.incrementAndGet(), eventType, null, handler, opt, this));
+    }
+
+    @Override
+    public <E> EventStream<E> stream(Class<E> eventType, SubscriptionOptions options) {
+        Objects.requireNonNull(eventType, "eventType");
+        SubscriptionOptions opt = options == null ? SubscriptionOptions.builder().build() : options;
+        if (opt.partitions() > 1 || opt.deliveryMode() == DeliveryMode.DIRECT || opt.rateLimitPerSecond() > 0) {
+            throw new IllegalArgumentException("EventStream requires a single queued partition without rateLimit");
+        }
+        return new DefaultEventStream<>(this, eventType, opt);
+    }
+
+    /**
+     * Подписка конвейера EventStream: конвейеру нужна сама подписка, чтобы класть
+     * в её очередь метки таймера, — и до того, как в неё попадут sticky-события.
+     */
+    <E> Subscription subscribeStream(Class<E> eventType, StreamPipeline pipeline, SubscriptionOptions options) {
+        EventSubscription<E> sub = new EventSubscription<>(idSeq.incrementAndGet(), eventType, pipeline, null, options, this);
+        pipeline.attach(sub);
+        return register(sub);
+    }
+
+    @Override
+    public <E> Flow.Publisher<E> publisher(Class<E> eventType, SubscriptionOptions options) {
+        Objects.requireNonNull(eventType, "eventType");
+        SubscriptionOptions opt = options == null ? SubscriptionOptions.builder().build() : options;
+        if (opt.partitions() > 1 || opt.deliveryMode() == DeliveryMode.DIRECT) {
+            throw new IllegalArgumentException("Flow.Publisher requires a single queued partition");
+        }
+        return new FlowPublisher<>(this, eventType, opt);
+    }
+
+    <E> EventSubscription<E> newSubscription(Class<E> eventType, EventHandler<? super E> handler,
+                                              SubscriptionOptions options, boolean demandDriven) {
+        return new EventSubscription<>(idSeq.incrementAndGet(), eventType, handler, null, options, this, demandDriven);
+    }
 
-            boolean ok = queue.offer(event);
-            if (!ok) {
-                dropped.increment();
-                if (options.overflowPolicy() == OverflowPolicy.DEAD_LETTER) {
-                    // сюда можно подключить «dead-letter» канал/логирование, если потребуется.
+    <E> Subscription register(EventSubscription<E> sub) {
+        Class<E> eventType = sub.type;
+        CopyOnWriteArrayList<EventSubscription<?>> list = subs.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>());
+        // Кэш — в очередь подписки до того, как она станет видна публикующим, и вне stickyLock:
+        // offer может ждать места (BLOCK), а обработчик — сам подписываться. Пока кэш отдавался,
+        // могли прийти новые sticky-события: круг повторяется, пока отдавать нечего.
+        long replayed = 0;
+        while (true) {
+            List<Object> replay = new ArrayList<>();
+            synchronized (stickyLock) {
+                for (StickyEntry e : sticky.values()) {
+                    if (e.seq > replayed && eventType.isInstance(e.event)) replay.add(e.event);
+                }
+                if (replay.isEmpty()) {
+                    sub.stickyWatermark = stickySeq;
+                    list.add(sub);
+                    invalidatePlans();
+                    break;
                 }
+                replayed = stickySeq;
+            }
+            for (Object ev : replay) {
+                if (sub.accepts(ev)) sub.offer(ev, priorityOf(ev));
             }
         }
+        sub.removeSelf = () -> removeSub(list, sub);
+
+        return () -> {
+            removeSub(list, sub);
+            sub.unsubscribe();
+        };
+    }
+
+    private void removeSub(CopyOnWriteArrayList<EventSubscription<?>> list, EventSubscription<?> sub) {
+        if (list.remove(sub)) {
+            invalidatePlans();
+        }
+    }
+
+    private void invalidatePlans() {
+        // Сначала версия, затем очистка: план, собранный по старой топологии, уже не будет принят.
+        topologyVersion.incrementAndGet();
+        plans.clear();
+    }
+
+    @Override
+    public void publish(Object event) {
+        if (event == null) return;
+        publish(event, priorityOf(event));
+    }
 
-        private void applySlowPolicyIfNeeded(long handlerNanos) {
-            long thresholdMs = options.slowHandlerThresholdMillis();
-            if (thresholdMs <= 0) return;
+    @Override
+    public void publish(Object event, EventPriority priority) {
+        if (event == null || rejectIfClosed(1)) return;
+        publishedTotal.increment();
+        journal.append(event);
 
-            long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
-            if (handlerNanos <= thresholdNanos) return;
+        EventPriority p = priority == null ? EventPriority.NORMAL : priority;
+        if (tracer != null && tracer.sample()) {
+            dispatchTraced(planFor(event.getClass()), event, p);
+            return;
+        }
+        dispatchTo(planFor(event.getClass()), event, p);
+    }
 
-            SlowHandlerPolicy p = options.slowHandlerPolicy();
-            if (p == null || p == SlowHandlerPolicy.NONE) return;
+    private static EventPriority priorityOf(Object event) {
+        if (!(event instanceof PrioritizedEvent)) return EventPriority.NORMAL;
+        EventPriority p = ((PrioritizedEvent) event).priority();
+        return p == null ? EventPriority.NORMAL : p;
+    }
 
-            if (p == SlowHandlerPolicy.LOG) {
-                LOG.warning(() -> "Slow EventBus handler: " + metricsId()
-                        + ", timeMs=" + (handlerNanos / 1_000_000.0)
-                        + ", queue=" + queue.size() + "/" + options.queueCapacity());
-                return;
+    @Override
+    public void publishSticky(Object event) {
+        if (event == null) return;
+        if (stickyCapacity == 0) {
+            publish(event);
+            return;
+        }
+        if (rejectIfClosed(1)) return;
+        long seq;
+        synchronized (stickyLock) {
+            seq = ++stickySeq;
+            // remove + put: свежеопубликованный класс уходит в конец LRU.
+            sticky.remove(event.getClass());
+            sticky.put(event.getClass(), new StickyEntry(event, seq));
+        }
+        publishedTotal.increment();
+        journal.append(event);
+
+        // План собран после номера: подписка, зарегистрированная раньше, в нём есть.
+        EventPriority priority = priorityOf(event);
+        for (EventSubscription<?> s : planFor(event.getClass()).targets) {
+            if (s.stickyWatermark >= seq) continue;
+            if (s.accepts(event)) {
+                s.offer(event, priority);
             }
+        }
+    }
+
+    @Override
+    public <E> E stickyEvent(Class<E> eventType) {
+        if (eventType == null) return null;
+        synchronized (stickyLock) {
+            StickyEntry e = sticky.get(eventType);
+            return e == null ? null : eventType.cast(e.event);
+        }
+    }
+
+    @Override
+    public boolean removeSticky(Class<?> eventType) {
+        if (eventType == null) return false;
+        synchronized (stickyLock) {
+            return sticky.remove(eventType) != null;
+        }
+    }
+
+    @Override
+    public void clearSticky() {
+        synchronized (stickyLock) {
+            sticky.clear();
+        }
+    }
 
-            if (p == SlowHandlerPolicy.DISABLE) {
-                LOG.warning(() -> "Disabling slow EventBus handler: " + metricsId()
-                        + ", timeMs=" + (handlerNanos / 1_000_000.0));
-                disable();
-                return;
+    @Override
+    public PublishOutcome tryPublish(Object event) {
+        if (event == null) return PublishOutcome.NONE;
+        if (rejectIfClosed(1)) return PublishOutcome.CLOSED;
+        publishedTotal.increment();
+        journal.append(event);
+
+        EventPriority priority = priorityOf(event);
+        int delivered = 0;
+        List<String> saturated = null;
+        for (EventSubscription<?> s : planFor(event.getClass()).targets) {
+            if (!s.isActive() || !s.accepts(event)) continue;
+            if (s.tryOffer(event, priority)) {
+                delivered++;
+            } else {
+                if (saturated == null) saturated = new ArrayList<>(2);
+                saturated.add(s.metricsId());
             }
+        }
+        if (saturated == null) {
+            return delivered == 0 ? PublishOutcome.NONE : new PublishOutcome(delivered, 0, List.of());
+        }
+        return new PublishOutcome(delivered, saturated.size(), saturated);
+    }
 
-            if (p == SlowHandlerPolicy.BLACKLIST) {
-                long configuredMs = options.blacklistDurationMillis();
-                final long durMs = configuredMs > 0 ? configuredMs : DEFAULT_BLACKLIST_MILLIS;
+    @Override
+    public int remainingCapacity(Class<?> eventType) {
+        Objects.requireNonNull(eventType, "eventType");
+        int min = Integer.MAX_VALUE;
+        for (EventSubscription<?> s : planFor(eventType).targets) {
+            if (s.isActive()) min = Math.min(min, s.remainingCapacity());
+        }
+        return min;
+    }
 
-                blacklistUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durMs);
-                LOG.warning(() -> "Blacklisting slow EventBus handler: " + metricsId()
-                        + ", timeMs=" + (handlerNanos / 1_000_000.0)
-                        + ", blacklistMs=" + durMs);
+    @Override
+    public void publishBatch(Collection<?> events) {
+        if (events == null || events.isEmpty() || rejectIfClosed(events.size())) return;
+
+        Set<Runnable> signals = Collections.newSetFromMap(new IdentityHashMap<>());
+        Class<?> lastClass = null;
+        DispatchPlan plan = null;
+        long published = 0;
+        for (Object event : events) {
+            if (event == null) continue;
+            // Подряд идущие события одного класса используют уже найденный план.
+            Class<?> c = event.getClass();
+            if (c != lastClass) {
+                plan = planFor(c);
+                lastClass = c;
             }
+            enqueueTo(plan, event, signals);
+            published++;
         }
+        publishedTotal.add(published);
+        for (Runnable signal : signals) {
+            signal.run();
+        }
+    }
+
+    @Override
+    public <E> void publishBatch(Class<E> eventType, Collection<? extends E> events) {
+        Objects.requireNonNull(eventType, "eventType");
+        if (events == null || events.isEmpty() || rejectIfClosed(events.size())) return;
+
+        Set<Runnable> signals = Collections.newSetFromMap(new IdentityHashMap<>());
+        DispatchPlan plan = planFor(eventType);
+        long published = 0;
+        for (E event : events) {
+            if (event == null) continue;
+            enqueueTo(event.getClass() == eventType ? plan : planFor(event.getClass()), event, signals);
+            published++;
+        }
+        publishedTotal.add(published);
+        for (Runnable signal : signals) {
+            signal.run();
+        }
+    }
+
+    private void enqueueTo(DispatchPlan plan, Object event, Set<Runnable> signals) {
+        journal.append(event);
+        EventPriority priority = priorityOf(event);
+        for (EventSubscription<?> s : plan.targets) {
+            if (!s.accepts(event)) continue;
+            Runnable signal = s.offerDeferred(event, priority);
+            if (signal != null) signals.add(signal);
+        }
+    }
 
-        private void disable() {
-            if (!active) {
-                removeSelf.run();
-                return;
+    private DispatchPlan planFor(Class<?> eventClass) {
+        long version = topologyVersion.get();
+        DispatchPlan plan = plans.get(eventClass);
+        if (plan != null && plan.version == version) return plan;
+
+        Set<EventSubscription<?>> matched = new LinkedHashSet<>();
+        List<EventSubscription<?>> exact = subs.get(eventClass);
+        if (exact != null) matched.addAll(exact);
+        for (Map.Entry<Class<?>, CopyOnWriteArrayList<EventSubscription<?>>> e : subs.entrySet()) {
+            if (e.getKey() != eventClass && e.getKey().isAssignableFrom(eventClass)) {
+                matched.addAll(e.getValue());
             }
-            active = false;
-            queue.clear();
-            queue.offer(POISON);
-            removeSelf.run();
         }
 
-        @Override
-        public void unsubscribe() {
-            disable();
+        plan = new DispatchPlan(version, matched.isEmpty() ? NO_SUBS : matched.toArray(NO_SUBS));
+        plans.put(eventClass, plan);
+        return plan;
+    }
+
+    private void dispatchTo(DispatchPlan plan, Object event, EventPriority priority) {
+        for (EventSubscription<?> s : plan.targets) {
+            if (s.accepts(event)) {
+                s.offer(event, priority);
+            }
         }
+    }
 
-        SubscriptionMetricsSnapshot snapshot() {
-            long handledCnt = handled.sum();
-            long totalNanos = totalHandlerNanos.sum();
-            double avgMs = handledCnt == 0 ? 0.0 : (totalNanos / 1_000_000.0) / handledCnt;
-            double maxMs = maxHandlerNanos.get() / 1_000_000.0;
+    private void dispatchTraced(DispatchPlan plan, Object event, EventPriority priority) {
+        EventTracer.Trace trace = tracer.begin(event);
+        try {
+            for (EventSubscription<?> s : plan.targets) {
+                if (s.accepts(event)) {
+                    s.offerTraced(event, priority, trace.span(s));
+                }
+            }
+        } finally {
+            trace.dispatched();
+        }
+    }
 
-            long now = System.nanoTime();
-            long until = blacklistUntilNanos;
-            boolean bl = until > now;
-            long remainingMs = bl ? TimeUnit.NANOSECONDS.toMillis(until - now) : 0L;
+    @Override
+    public <R> CompletableFuture<R> request(Object event, Class<R> replyType, long timeoutMillis) {
+        Objects.requireNonNull(event, "event");
+        Objects.requireNonNull(replyType, "replyType");
+        if (rejectIfClosed(1)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("EventBus is closed"));
+        }
 
-            return new SubscriptionMetricsSnapshot(
-                    metricsId(),
-                    type.getName(),
-                    active,
-                    queue.size(),
-                    options.queueCapacity(),
-                    handledCnt,
-                    errors.sum(),
-                    dropped.sum(),
-                    avgMs,
-                    maxMs,
-                    bl,
-                    remainingMs
-            );
+        if (planFor(event.getClass()).targets.length == 0) {
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "No subscribers for request " + event.getClass().getName()));
+        }
+        // Регистрация до публикации: DIRECT-обработчик может ответить прямо внутри publish().
+        CompletableFuture<R> future = requests.register(event, replyType, timeoutMillis);
+        if (!future.isDone()) {
+            publish(event);
         }
+        return future;
     }
 
-    private final ExecutorService exec;
-    private final Map<Class<?>, CopyOnWriteArrayList<Sub<?>>> subs = new ConcurrentHashMap<>();
-    private final AtomicLong idSeq = new AtomicLong(0);
-    private final LongAdder publishedTotal = new LongAdder();
+    @Override
+    public boolean reply(Object request, Object reply) {
+        if (request == null) return false;
+        return requests.complete(request, reply);
+    }
 
-    public DefaultEventBus(ExecutorService exec) {
-        this.exec = Objects.requireNonNull(exec, "exec");
+    @Override
+    public boolean replyFailure(Object request, Throwable error) {
+        if (request == null) return false;
+        return requests.fail(request, error == null ? new IllegalStateException("Request failed") : error);
     }
 
     @Override
-    public <E> Subscription subscribe(Class<E> eventType, EventHandler<? super E> handler, SubscriptionOptions options) {
-        Objects.requireNonNull(eventType, "eventType");
-        Objects.requireNonNull(handler, "handler");
-        SubscriptionOptions opt = options == null ? SubscriptionOptions.builder().build() : options;
+    public Scheduled publishAfter(Object event, long delayMillis) {
+        Objects.requireNonNull(event, "event");
+        ScheduledPublication p = new ScheduledPublication(this, () -> event, 0L);
+        p.start(TimeUnit.MILLISECONDS.toNanos(Math.max(0L, delayMillis)));
+        return p;
+    }
 
-        long id = idSeq.incrementAndGet();
-        Sub<E> sub = new Sub<>(id, eventType, handler, opt, exec);
+    @Override
+    public Scheduled publishEvery(Supplier<?> eventSupplier, long initialDelayMillis, long periodMillis) {
+        Objects.requireNonNull(eventSupplier, "eventSupplier");
+        if (periodMillis <= 0) throw new IllegalArgumentException("periodMillis must be > 0");
+        ScheduledPublication p = new ScheduledPublication(this, eventSupplier, TimeUnit.MILLISECONDS.toNanos(periodMillis));
+        p.start(TimeUnit.MILLISECONDS.toNanos(Math.max(0L, initialDelayMillis)));
+        return p;
+    }
 
-        CopyOnWriteArrayList<Sub<?>> list = subs.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>());
-        list.add(sub);
-        sub.removeSelf = () -> list.remove(sub);
+    @Override
+    public <T> EventRing<T> createRing(String name, Supplier<? extends T> slotFactory, int bufferSize) {
+        RingChannel<T> ring = new RingChannel<>(this, name, slotFactory, bufferSize);
+        rings.add(ring);
+        return ring;
+    }
 
-        return () -> {
-            list.remove(sub);
-            sub.unsubscribe();
-        };
+    boolean rejectIfClosed(int events) {
+        if (!closed) return false;
+        rejected.add(events);
+        return true;
+    }
+
+    boolean isClosed() {
+        return closed;
     }
 
     @Override
-    public void publish(Object event) {
-        if (event == null) return;
-        publishedTotal.increment();
+    public DrainReport drain(long timeoutMillis) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(Math.max(0L, timeoutMillis));
+        closed = true;
+
+        List<EventSubscription<?>> all = new ArrayList<>();
+        for (CopyOnWriteArrayList<EventSubscription<?>> list : subs.values()) {
+            all.addAll(list);
+        }
+        // Старшие drainPriority первыми; младшие группы придержаны, чтобы не делить с ними пул.
+        NavigableMap<Integer, List<EventSubscription<?>>> groups = new TreeMap<>(Comparator.reverseOrder());
+        for (EventSubscription<?> s : all) {
+            groups.computeIfAbsent(s.options.drainPriority(), k -> new ArrayList<>()).add(s);
+        }
+        if (groups.size() > 1) {
+            for (EventSubscription<?> s : all) s.hold();
+        }
 
-        dispatchTo(event.getClass(), event);
+        boolean inTime = true;
+        for (List<EventSubscription<?>> group : groups.values()) {
+            for (EventSubscription<?> s : group) s.release();
+            if (!awaitIdle(group, deadline)) {
+                inTime = false;
+                break;
+            }
+        }
+        // Срок вышел: остальные больше не держим — пусть работают, пока жив executor.
+        for (EventSubscription<?> s : all) s.release();
+        // Кольца дочитываются после подписок, в пределах того же срока.
+        if (inTime) inTime = awaitRingsIdle(deadline);
+
+        Map<String, Integer> leftovers = new LinkedHashMap<>();
+        for (EventSubscription<?> s : all) {
+            // Снятая во время drain подписка сбрасывает очередь сама — это не остаток.
+            if (!s.isActive()) continue;
+            int n = s.queueSize();
+            if (n > 0) leftovers.put(s.metricsId(), n);
+        }
+        for (RingChannel<?> ring : rings) {
+            ring.leftovers(leftovers);
+        }
+        // Шина закрыта: поток таймера больше не нужен, а запросы без ответа
+        // уже не дождутся таймаута — завершаем их сразу.
+        timer.stop();
+        requests.failAll(new IllegalStateException("EventBus is closed"));
+        // Публикации отклоняются с начала drain — журнал больше не пополняется.
+        journal.close();
+        // Трассы событий, оставшихся в очередях, иначе никогда бы не завершились.
+        if (tracer != null) tracer.abandonQueued();
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new DrainReport(inTime && leftovers.isEmpty(), elapsedMillis, leftovers, rejected.sum());
+    }
 
-        for (Class<?> key : subs.keySet()) {
-            if (key != event.getClass() && key.isInstance(event)) {
-                dispatchTo(key, event);
+    private static boolean awaitIdle(List<EventSubscription<?>> group, long deadlineNanos) {
+        for (;;) {
+            boolean idle = true;
+            for (EventSubscription<?> s : group) {
+                // Очередь без спроса не ждём: она уходит в leftovers сразу.
+                if (s.isActive() && !s.isIdle() && !s.awaitsDemand()) {
+                    idle = false;
+                    break;
+                }
             }
+            if (idle) return true;
+            if (System.nanoTime() - deadlineNanos >= 0) return false;
+            LockSupport.parkNanos(DRAIN_POLL_NANOS);
         }
     }
 
-    private void dispatchTo(Class<?> type, Object event) {
-        List<Sub<?>> list = subs.get(type);
-        if (list == null) return;
-        for (Sub<?> s : list) {
-            s.offer(event);
+    private boolean awaitRingsIdle(long deadlineNanos) {
+        for (;;) {
+            boolean idle = true;
+            for (RingChannel<?> ring : rings) {
+                if (!ring.isIdle()) {
+                    idle = false;
+                    break;
+                }
+            }
+            if (idle) return true;
+            if (System.nanoTime() - deadlineNanos >= 0) return false;
+            LockSupport.parkNanos(DRAIN_POLL_NANOS);
         }
     }
 
@@ -285,13 +609,67 @@ public final class DefaultEventBus implements EventBus, EventBusMetrics {
     }
 
     @Override
-    public EventBusMetricsSnapshot snapshot() {
+    public DeadLetterChannel deadLetters() {
+        return deadLetters;
+    }
+
+    @Override
+    public EventJournal journal() {
+        return journal;
+    }
+
+    DeadLetterStore.ReplayTarget replayTarget(String subscriptionId) {
+        for (CopyOnWriteArrayList<EventSubscription<?>> list : subs.values()) {
+            for (EventSubscription<?> s : list) {
+                if (s.metricsId().equals(subscriptionId)) return s;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Отложенный запуск короткой служебной задачи (linger пакетов и т.п.) в потоке таймера.
+     * Поток таймера создаётся лениво: шины без отложенных задач не держат лишний поток.
+     */
+    TimerWheel.Timeout schedule(Runnable task, long delayNanos) {
+        return timer.schedule(task, delayNanos);
+    }
+
+    /**
+     * Как schedule, но задача выполняется на executor-е шины (для задач с вводом-выводом).
+     */
+    TimerWheel.Timeout scheduleOnExecutor(Runnable task, long delayNanos) {
+        return timer.schedule(() -> {
+            try {
+                exec.execute(task);
+            } catch (RejectedExecutionException rex) {
+                if (LOG.isLoggable(Level.FINE)) {
+                    LOG.log(Level.FINE, "EventBus executor rejected timer task", rex);
+                }
+            }
+        }, delayNanos);
+    }
+
+    @Override
+    public EventBusMetricsSnapshot snapshot(boolean resetWindow) {
         Map<String, SubscriptionMetricsSnapshot> out = new LinkedHashMap<>();
-        for (CopyOnWriteArrayList<Sub<?>> list : subs.values()) {
-            for (Sub<?> s : list) {
-                out.put(s.metricsId(), s.snapshot());
+        for (CopyOnWriteArrayList<EventSubscription<?>> list : subs.values()) {
+            for (EventSubscription<?> s : list) {
+                out.put(s.metricsId(), s.snapshot(resetWindow));
             }
         }
+        for (RingChannel<?> ring : rings) {
+            ring.snapshot(out);
+        }
         return new EventBusMetricsSnapshot(publishedTotal.sum(), out);
     }
+
+    boolean tracing() {
+        return tracer != null;
+    }
+
+    @Override
+    public List<EventTrace> recentTraces() {
+        return tracer == null ? List.of() : tracer.recent();
+    }
 }
@@ -0,0 +1,122 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.EventBus;
+import com.coresys.platform.kernel.events.EventHandler;
+import com.coresys.platform.kernel.events.EventStream;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Конвейер операторов шины событий: DefaultEventStream.
+ *
+ * Неизменяемое описание конвейера: каждый оператор возвращает новый поток с ещё одной
+ * фабрикой стадии. Терминальная операция создаёт стадии заново, поэтому одно описание
+ * можно подписывать несколько раз.
+ *
+ * @author Евгений Платонов
+ */
+
+final class DefaultEventStream<T> implements EventStream<T> {
+
+    private final DefaultEventBus bus;
+    private final Class<?> eventType;
+    private final SubscriptionOptions options;
+    private final List<Supplier<StreamPipeline.Stage>> stages;
+
+    DefaultEventStream(DefaultEventBus bus, Class<T> eventType, SubscriptionOptions options) {
+        this(bus, eventType, options, List.of());
+    }
+
+    private DefaultEventStream(DefaultEventBus bus, Class<?> eventType, SubscriptionOptions options,
+                               List<Supplier<StreamPipeline.Stage>> stages) {
+        this.bus = bus;
+        this.eventType = eventType;
+        this.options = options;
+        this.stages = stages;
+    }
+
+    private <R> EventStream<R> then(Supplier<StreamPipeline.Stage> stage) {
+        List<Supplier<StreamPipeline.Stage>> next = new ArrayList<>(stages.size() + 1);
+        next.addAll(stages);
+        next.add(stage);
+        return new DefaultEventStream<>(bus, eventType, options, List.copyOf(next));
+    }
+
+    @Override
+    public <R> EventStream<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return then(() -> new StreamPipeline.MapStage(mapper));
+    }
+
+    @Override
+    public EventStream<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return then(() -> new StreamPipeline.FilterStage(predicate));
+    }
+
+    @Override
+    public EventStream<List<T>> window(long sizeMillis) {
+        requirePositive(sizeMillis, "sizeMillis");
+        return then(() -> new StreamPipeline.TumblingWindowStage(sizeMillis));
+    }
+
+    @Override
+    public EventStream<List<T>> window(long sizeMillis, long slideMillis) {
+        requirePositive(sizeMillis, "sizeMillis");
+        requirePositive(slideMillis, "slideMillis");
+        return then(() -> new StreamPipeline.SlidingWindowStage(sizeMillis, slideMillis));
+    }
+
+    @Override
+    public EventStream<T> debounce(long quietMillis) {
+        requirePositive(quietMillis, "quietMillis");
+        return then(() -> new StreamPipeline.DebounceStage(quietMillis));
+    }
+
+    @Override
+    public EventStream<T> throttle(long intervalMillis) {
+        requirePositive(intervalMillis, "intervalMillis");
+        return then(() -> new StreamPipeline.ThrottleStage(intervalMillis));
+    }
+
+    @Override
+    public <K> EventStream<T> reduceByKey(Function<? super T, ? extends K> keyFn, BinaryOperator<T> reducer) {
+        Objects.requireNonNull(keyFn, "keyFn");
+        Objects.requireNonNull(reducer, "reducer");
+        return then(() -> new StreamPipeline.ReduceByKeyStage(keyFn, reducer));
+    }
+
+    @Override
+    public EventBus.Subscription to(EventHandler<? super T> handler) {
+        Objects.requireNonNull(handler, "handler");
+        List<StreamPipeline.Stage> built = new ArrayList<>(stages.size());
+        for (Supplier<StreamPipeline.Stage> s : stages) {
+            built.add(s.get());
+        }
+        return bus.subscribeStream(eventType, new StreamPipeline(bus, built, new StreamPipeline.TerminalStage(handler)),
+                options);
+    }
+
+    @Override
+    public EventBus.Subscription publish() {
+        return to(bus::publish);
+    }
+
+    private static void requirePositive(long value, String name) {
+        if (value <= 0) throw new IllegalArgumentException(name + " must be > 0");
+    }
+}
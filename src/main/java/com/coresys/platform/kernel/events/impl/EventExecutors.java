@@ -0,0 +1,117 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.ExecutorMode;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Фабрика executor-ов шины событий: EventExecutors.
+ *
+ * Ядро собирается под Java 11, поэтому виртуальные потоки подключаются во время
+ * выполнения через reflection (Thread.ofVirtual / Executors.newThreadPerTaskExecutor).
+ * На виртуальных потоках блокирующий обработчик не занимает платформенный поток;
+ * очередь executor-а не ограничена — ограничением служат очереди подписок.
+ *
+ * @author Евгений Платонов
+ */
+
+public final class EventExecutors {
+
+    private static final Logger LOG = Logger.getLogger(EventExecutors.class.getName());
+
+    private static final String THREAD_PREFIX = "coresys-events-";
+
+    private EventExecutors() {
+    }
+
+    /**
+     * Режим из значения свойства coresys.kernel.events.executor (без учёта регистра);
+     * пустое или неизвестное значение — PLATFORM.
+     */
+    public static ExecutorMode parseMode(String value) {
+        if (value == null || value.isBlank()) return ExecutorMode.PLATFORM;
+        try {
+            return ExecutorMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOG.warning("Unknown event executor mode '" + value + "', using platform");
+            return ExecutorMode.PLATFORM;
+        }
+    }
+
+    /**
+     * Executor шины в заданном режиме; threads/queueSize используются пулом PLATFORM.
+     */
+    public static ExecutorService create(ExecutorMode mode, int threads, int queueSize) {
+        ExecutorMode m = mode == null ? ExecutorMode.PLATFORM : mode;
+        if (m != ExecutorMode.PLATFORM) {
+            ExecutorService virtual = virtualOrNull();
+            if (virtual != null) return virtual;
+            if (m == ExecutorMode.VIRTUAL) {
+                LOG.warning("Virtual threads are not available on Java " + Runtime.version().feature()
+                        + ", falling back to platform event executor");
+            }
+        }
+        return platform(threads, queueSize);
+    }
+
+    /**
+     * Фиксированный пул: при переполнении очереди задачу выполняет вызывающий поток.
+     */
+    public static ExecutorService platform(int threads, int queueSize) {
+        int n = Math.max(1, threads);
+        ThreadFactory tf = r -> {
+            Thread t = new Thread(r);
+            t.setName(THREAD_PREFIX + t.getId());
+            t.setDaemon(true);
+            return t;
+        };
+
+        return new ThreadPoolExecutor(
+                n,
+                n,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, queueSize)),
+                tf,
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    private static ExecutorService virtualOrNull() {
+        if (!virtualThreadsAvailable()) return null;
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, THREAD_PREFIX + "v-", 0L);
+            ThreadFactory tf = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+
+            Method perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) perTask.invoke(null, tf);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Virtual thread executor is not available", e);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,1179 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.BatchEventHandler;
+import com.coresys.platform.kernel.events.DeadLetter;
+import com.coresys.platform.kernel.events.DeadLetterReason;
+import com.coresys.platform.kernel.events.DeliveryMode;
+import com.coresys.platform.kernel.events.EventBus;
+import com.coresys.platform.kernel.events.EventHandler;
+import com.coresys.platform.kernel.events.EventPriority;
+import com.coresys.platform.kernel.events.OverflowPolicy;
+import com.coresys.platform.kernel.events.QueueType;
+import com.coresys.platform.kernel.events.RateLimitAction;
+import com.coresys.platform.kernel.events.SlowHandlerPolicy;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+import com.coresys.platform.kernel.events.metrics.PartitionMetricsSnapshot;
+import com.coresys.platform.kernel.events.metrics.SubscriptionMetricsSnapshot;
+import com.coresys.platform.kernel.events.metrics.TraceSpan;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Подписка шины событий: EventSubscription.
+ *
+ * Хранит обработчик, политики и метрики подписки. События принимаются в одну или
+ * несколько партиций (SubscriptionOptions.partitions); у каждой партиции своя очередь
+ * и свой дренаж на executor-е шины, поток пула занимается только пока в очереди есть события.
+ * События с одинаковым ключом партиционирования обрабатываются по порядку, разные ключи —
+ * параллельно.
+ *
+ * @author Евгений Платонов
+ */
+
+final class EventSubscription<E> implements EventBus.Subscription, DeadLetterStore.ReplayTarget {
+
+    private static final Logger LOG = Logger.getLogger(DefaultEventBus.class.getName());
+
+    private static final long DEFAULT_BLACKLIST_MILLIS = 5_000L;
+
+    // Сколько событий партиция обрабатывает за один заход, прежде чем вернуть поток пулу.
+    private static final int DRAIN_BATCH = 256;
+
+    // Событие не проходило через очередь (DIRECT) — время ожидания не учитывается.
+    private static final long NOT_QUEUED = Long.MIN_VALUE;
+
+    // Итог Partition.enqueue: событие в очереди (нужен сигнал дренажу), слито с уже
+    // стоящим в очереди (CONFLATE, сигнал не нужен) или не принято.
+    private static final int ENQUEUED = 0;
+    private static final int MERGED = 1;
+    private static final int REJECTED = 2;
+
+    private static final EventPriority[] PRIORITIES = EventPriority.values();
+
+    private static final class ConflationSlot {
+        final Object key;
+
+        ConflationSlot(Object key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Полоса очереди партиции: своя очередь, ёмкость и политика переполнения.
+     */
+    private static final class Lane {
+        final SubscriptionQueue queue;
+        final OverflowPolicy policy;
+
+        // Слияние (OverflowPolicy.CONFLATE или RateLimitAction.CONFLATE): последнее событие
+        // на ключ; в очереди — по одному ConflationSlot на ключ.
+        final Map<Object, Object> conflated;
+
+        Lane(QueueType queueType, int capacity, OverflowPolicy policy, boolean conflate) {
+            this.queue = SubscriptionQueue.create(queueType, capacity);
+            this.policy = policy;
+            this.conflated = conflate || policy == OverflowPolicy.CONFLATE ? new ConcurrentHashMap<>() : null;
+        }
+    }
+
+    final long id;
+    final Class<E> type;
+    final EventHandler<? super E> handler;
+    final BatchEventHandler<? super E> batchHandler;
+    final SubscriptionOptions options;
+    final DefaultEventBus bus;
+    final boolean direct;
+
+    private final List<Partition> partitions;
+    private final Function<Object, ?> partitionKey;
+    private final Predicate<Object> filter;
+    // Ограничитель темпа, общий для всех партиций (null — без ограничения).
+    private final TokenBucket rateLimit;
+    // Спрос Flow-подписчика (null — доставка без спроса): дренаж отдаёт не больше запрошенного.
+    private final AtomicLong demand;
+    // Завершающий сигнал Flow-подписчика (onError): выполняется дренажем, а не вызывающим
+    // потоком, чтобы не пересечься с onNext (Reactive Streams §1.3).
+    private volatile Runnable terminal;
+    // В очереди могут быть TracedEvent: пакетный дренаж разворачивает их перед обработчиком.
+    private final boolean tracing;
+
+    final LongAdder handled = new LongAdder();
+    final LongAdder errors = new LongAdder();
+    final LongAdder dropped = new LongAdder();
+    final LongAdder deadLettered = new LongAdder();
+    final LongAdder conflatedCount = new LongAdder();
+    final LongAdder filtered = new LongAdder();
+    final LongAdder throttled = new LongAdder();
+    final LongAdder totalHandlerNanos = new LongAdder();
+    final AtomicLong maxHandlerNanos = new AtomicLong(0);
+
+    volatile boolean active = true;
+    // Чёрный список снимается задачей таймера шины; в горячем пути — только чтение флага.
+    volatile boolean blacklisted;
+    volatile long blacklistUntilNanos = 0L;
+    private TimerWheel.Timeout blacklistLift;
+    volatile Runnable removeSelf = () -> { };
+    // Номер последней sticky-публикации, учтённой при регистрации: более ранние
+    // подписка получила из кэша, живая доставка их пропускает.
+    volatile long stickyWatermark;
+
+    // Остановка шины: дренаж подписки придержан, пока не подойдёт её очередь по drainPriority.
+    private volatile boolean held;
+
+    // Окно гистограмм: время обработчика (на вызов) и время ожидания в очереди (на событие).
+    private volatile LatencyHistogram handlerLatency = new LatencyHistogram();
+    private volatile LatencyHistogram queueWait = new LatencyHistogram();
+
+    EventSubscription(long id, Class<E> type, EventHandler<? super E> handler, BatchEventHandler<? super E> batchHandler,
+                      SubscriptionOptions options, DefaultEventBus bus) {
+        this(id, type, handler, batchHandler, options, bus, false);
+    }
+
+    /**
+     * demandDriven — события выдаются обработчику только в пределах request(n).
+     */
+    EventSubscription(long id, Class<E> type, EventHandler<? super E> handler, BatchEventHandler<? super E> batchHandler,
+                      SubscriptionOptions options, DefaultEventBus bus, boolean demandDriven) {
+        this.id = id;
+        this.type = type;
+        this.handler = handler;
+        this.batchHandler = batchHandler;
+        this.options = options;
+        this.bus = bus;
+        this.direct = options.deliveryMode() == DeliveryMode.DIRECT;
+        this.partitionKey = options.partitionKey();
+        this.filter = options.filter();
+        this.rateLimit = options.rateLimitPerSecond() > 0
+                ? new TokenBucket(options.rateLimitPerSecond(), options.rateLimitBurst()) : null;
+        this.demand = demandDriven ? new AtomicLong() : null;
+        this.tracing = bus.tracing();
+
+        // В режиме DIRECT очередь не используется; одна минимальная партиция — чтобы не держать память.
+        int count = direct ? 1 : options.partitions();
+        List<Partition> parts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            parts.add(new Partition(i, direct));
+        }
+        this.partitions = List.copyOf(parts);
+    }
+
+    String metricsId() {
+        String n = options.name();
+        if (n != null && !n.isBlank()) return n;
+        return type.getName() + "#" + id;
+    }
+
+    /**
+     * Фильтр подписки в публикующем потоке: отброшенное событие не занимает место в очереди.
+     * Исключение фильтра считается ошибкой подписки, событие при этом отбрасывается.
+     */
+    boolean accepts(Object event) {
+        if (filter == null) return true;
+        boolean ok;
+        try {
+            ok = filter.test(event);
+        } catch (Throwable t) {
+            errors.increment();
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Event filter failed for " + metricsId(), t);
+            }
+            ok = false;
+        }
+        if (!ok) filtered.increment();
+        return ok;
+    }
+
+    private Partition partitionFor(Object event) {
+        int n = partitions.size();
+        if (n == 1) return partitions.get(0);
+        Object key = partitionKey.apply(event);
+        if (key == null) return partitions.get(0);
+        int h = key.hashCode();
+        return partitions.get(Math.floorMod(h ^ (h >>> 16), n));
+    }
+
+    void offer(Object event, EventPriority priority) {
+        if (!active) return;
+
+        if (direct) {
+            deliverDirect(event);
+            return;
+        }
+        Partition p = partitionFor(event);
+        if (p.enqueue(event, priority, true, false) == ENQUEUED) p.signal();
+    }
+
+    /**
+     * offer для события, отобранного трассировкой: участок едет по очереди вместе с событием.
+     * Ограничитель темпа и полоса со слиянием не хранят событие как есть — там участок
+     * закрывается при постановке (UNTRACKED).
+     */
+    void offerTraced(Object event, EventPriority priority, EventTracer.Span span) {
+        span.enqueued();
+        if (!active) {
+            span.finish(TraceSpan.Outcome.DROPPED);
+            return;
+        }
+        if (rateLimit != null) {
+            span.finish(TraceSpan.Outcome.UNTRACKED);
+            offer(event, priority);
+            return;
+        }
+        if (direct) {
+            span.dequeued();
+            span.finish(deliverDirect(event) ? TraceSpan.Outcome.HANDLED : TraceSpan.Outcome.FAILED);
+            return;
+        }
+        Partition p = partitionFor(event);
+        if (p.conflates(priority)) {
+            span.finish(TraceSpan.Outcome.UNTRACKED);
+            if (p.enqueue(event, priority, true, false) == ENQUEUED) p.signal();
+            return;
+        }
+        if (p.enqueue(new TracedEvent(event, span), priority, true, false) == ENQUEUED) {
+            p.signal();
+        } else {
+            span.finish(TraceSpan.Outcome.DROPPED);
+        }
+    }
+
+    /**
+     * Неблокирующий вариант offer. Возвращает true, если подписка приняла событие.
+     */
+    boolean tryOffer(Object event, EventPriority priority) {
+        if (direct) {
+            // Событие, отброшенное ограничителем темпа, подписка не приняла.
+            if (throttledDirect()) return false;
+            invokeDirect(event);
+            return true;
+        }
+        Partition p = partitionFor(event);
+        int r = p.enqueue(event, priority, false, false);
+        if (r == ENQUEUED) p.signal();
+        return r != REJECTED;
+    }
+
+    /**
+     * Свободное место основной полосы в самой заполненной секции; для DIRECT очереди нет.
+     */
+    int remainingCapacity() {
+        if (direct) return Integer.MAX_VALUE;
+        int min = Integer.MAX_VALUE;
+        for (Partition p : partitions) {
+            SubscriptionQueue q = p.main.queue;
+            min = Math.min(min, Math.max(0, q.capacity() - q.size()));
+        }
+        return min;
+    }
+
+    /**
+     * Пакетная публикация: кладёт событие в очередь без сигнала дренажу и возвращает
+     * сигнал, который публикующий вызовет один раз на всю пачку (или null).
+     */
+    Runnable offerDeferred(Object event, EventPriority priority) {
+        if (!active) return null;
+
+        if (direct) {
+            deliverDirect(event);
+            return null;
+        }
+        Partition p = partitionFor(event);
+        return p.enqueue(event, priority, true, true) == ENQUEUED ? p.signalTask : null;
+    }
+
+    @Override
+    public boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public boolean redeliver(Object event) {
+        if (!active) return false;
+        if (direct) {
+            deliverDirect(event);
+            return true;
+        }
+        return partitionFor(event).redeliver(event);
+    }
+
+    int queueSize() {
+        int total = 0;
+        for (Partition p : partitions) total += p.size();
+        return total;
+    }
+
+    private int queueCapacity() {
+        int total = 0;
+        for (Partition p : partitions) total += p.capacity();
+        return total;
+    }
+
+    /**
+     * Добавляет спрос n (> 0) и будит дренаж непустых партиций. Long.MAX_VALUE — без ограничения.
+     */
+    void request(long n) {
+        demand.accumulateAndGet(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+        for (Partition p : partitions) {
+            if (!p.isEmpty()) p.scheduleDrain();
+        }
+    }
+
+    /**
+     * Снимает подписку и выполняет signal в потоке дренажа, после уже идущего onNext;
+     * новых событий обработчик не получит.
+     */
+    void terminate(Runnable signal) {
+        terminal = signal;
+        partitions.get(0).scheduleDrain();
+    }
+
+    private boolean noDemand() {
+        return demand != null && demand.get() <= 0;
+    }
+
+    /**
+     * Flow-подписчик без спроса: его очередь не опустеет, пока он сам не запросит события.
+     */
+    boolean awaitsDemand() {
+        return noDemand();
+    }
+
+    void hold() {
+        held = true;
+    }
+
+    /**
+     * Снимает hold и запускает дренаж всех непустых партиций (в том числе ждущих linger).
+     */
+    void release() {
+        held = false;
+        for (Partition p : partitions) {
+            if (!p.isEmpty()) p.scheduleDrain();
+        }
+    }
+
+    /**
+     * Очереди пусты и ни один дренаж не выполняется.
+     */
+    boolean isIdle() {
+        for (Partition p : partitions) {
+            if (p.scheduled.get() || !p.isEmpty()) return false;
+        }
+        return true;
+    }
+
+    // ---------------------------------------------------------------- вызов обработчика
+
+    /**
+     * Возвращает false, если обработчик упал или событие пропущено чёрным списком.
+     */
+    private boolean deliver(Partition partition, Object ev, long enqueuedNanos) {
+        if (ev instanceof TracedEvent) {
+            return deliverTraced(partition, (TracedEvent) ev, enqueuedNanos);
+        }
+        if (!type.isInstance(ev)) {
+            if (ev instanceof StreamPipeline.Tick) fireTick((StreamPipeline.Tick) ev);
+            return true;
+        }
+        if (blacklisted) {
+            recordDropped(partition, 1);
+            return false;
+        }
+        if (demand != null && demand.get() != Long.MAX_VALUE) {
+            // Уменьшает только поток дренажа; request() лишь прибавляет.
+            demand.decrementAndGet();
+        }
+
+        long start = System.nanoTime();
+        if (enqueuedNanos != NOT_QUEUED) {
+            queueWait.record(start - enqueuedNanos);
+        }
+        try {
+            handler.onEvent(type.cast(ev));
+            return true;
+        } catch (Throwable t) {
+            errors.increment();
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Event handler failed for " + metricsId(), t);
+            }
+            if (options.overflowPolicy() == OverflowPolicy.DEAD_LETTER) {
+                deadLetter(ev, DeadLetterReason.HANDLER_FAILED, t);
+            }
+            return false;
+        } finally {
+            recordHandled(partition, 1, System.nanoTime() - start);
+        }
+    }
+
+    private boolean deliverTraced(Partition partition, TracedEvent traced, long enqueuedNanos) {
+        traced.span.dequeued();
+        boolean ok = deliver(partition, traced.event, enqueuedNanos);
+        traced.span.finish(ok ? TraceSpan.Outcome.HANDLED : TraceSpan.Outcome.FAILED);
+        return ok;
+    }
+
+    /**
+     * Метка таймера конвейера EventStream: выполняется в потоке дренажа, как событие,
+     * но не учитывается в метриках обработки.
+     */
+    private void fireTick(StreamPipeline.Tick tick) {
+        try {
+            tick.fire();
+        } catch (Throwable t) {
+            errors.increment();
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Event stream stage failed for " + metricsId(), t);
+            }
+        }
+    }
+
+    private boolean deliverBatch(Partition partition, List<Object> batch, List<E> view, long[] enqueuedNanos) {
+        int n = batch.size();
+        if (blacklisted) {
+            recordDropped(partition, n);
+            return false;
+        }
+
+        long start = System.nanoTime();
+        if (enqueuedNanos != null) {
+            LatencyHistogram wait = queueWait;
+            for (int i = 0; i < n; i++) {
+                wait.record(start - enqueuedNanos[i]);
+            }
+        }
+        try {
+            batchHandler.onEvents(view);
+            return true;
+        } catch (Throwable t) {
+            errors.increment();
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Batch event handler failed for " + metricsId(), t);
+            }
+            if (options.overflowPolicy() == OverflowPolicy.DEAD_LETTER) {
+                for (Object ev : batch) {
+                    deadLetter(ev, DeadLetterReason.HANDLER_FAILED, t);
+                }
+            }
+            return false;
+        } finally {
+            recordHandled(partition, n, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * DIRECT: обработчик вызывается в публикующем потоке с теми же метриками
+     * и политикой медленных обработчиков, что и при доставке через очередь.
+     */
+    private boolean deliverDirect(Object event) {
+        return !throttledDirect() && invokeDirect(event);
+    }
+
+    /**
+     * true — ограничитель темпа не дал разрешения и событие отброшено (учтено в throttled).
+     * Очереди нет — отложить или слить некуда.
+     */
+    private boolean throttledDirect() {
+        if (rateLimit == null || rateLimit.acquireUpTo(1, System.nanoTime()) > 0) return false;
+        throttled.increment();
+        return true;
+    }
+
+    private boolean invokeDirect(Object event) {
+        try {
+            if (batchHandler == null) {
+                return deliver(null, event, NOT_QUEUED);
+            }
+            List<Object> single = List.of(event);
+            @SuppressWarnings("unchecked")
+            List<E> view = (List<E>) single;
+            return deliverBatch(null, single, view, null);
+        } catch (Throwable t) {
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "EventBus direct delivery error for " + metricsId(), t);
+            }
+            return false;
+        }
+    }
+
+    private void deadLetter(Object event, DeadLetterReason reason, Throwable error) {
+        if (event instanceof TracedEvent) event = ((TracedEvent) event).event;
+        deadLettered.increment();
+        bus.deadLetters.add(new DeadLetter(metricsId(), event, reason,
+                error == null ? null : error.toString(), System.currentTimeMillis()));
+    }
+
+    private void recordDropped(Partition partition, int events) {
+        dropped.add(events);
+        if (partition != null) partition.dropped.add(events);
+    }
+
+    private void recordHandled(Partition partition, int events, long handlerNanos) {
+        handled.add(events);
+        if (partition != null) partition.handled.add(events);
+        totalHandlerNanos.add(handlerNanos);
+        maxHandlerNanos.accumulateAndGet(handlerNanos, Math::max);
+        handlerLatency.record(handlerNanos);
+        applySlowPolicyIfNeeded(handlerNanos);
+    }
+
+    private void applySlowPolicyIfNeeded(long handlerNanos) {
+        long thresholdMs = options.slowHandlerThresholdMillis();
+        if (thresholdMs <= 0) return;
+
+        long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        if (handlerNanos <= thresholdNanos) return;
+
+        SlowHandlerPolicy p = options.slowHandlerPolicy();
+        if (p == null || p == SlowHandlerPolicy.NONE) return;
+
+        if (p == SlowHandlerPolicy.LOG) {
+            LOG.warning(() -> "Slow EventBus handler: " + metricsId()
+                    + ", timeMs=" + (handlerNanos / 1_000_000.0)
+                    + ", queue=" + queueSize() + "/" + queueCapacity());
+            return;
+        }
+
+        if (p == SlowHandlerPolicy.DISABLE) {
+            LOG.warning(() -> "Disabling slow EventBus handler: " + metricsId()
+                    + ", timeMs=" + (handlerNanos / 1_000_000.0));
+            disable();
+            return;
+        }
+
+        if (p == SlowHandlerPolicy.BLACKLIST) {
+            long configuredMs = options.blacklistDurationMillis();
+            final long durMs = configuredMs > 0 ? configuredMs : DEFAULT_BLACKLIST_MILLIS;
+
+            blacklist(TimeUnit.MILLISECONDS.toNanos(durMs));
+            LOG.warning(() -> "Blacklisting slow EventBus handler: " + metricsId()
+                    + ", timeMs=" + (handlerNanos / 1_000_000.0)
+                    + ", blacklistMs=" + durMs);
+        }
+    }
+
+    private synchronized void blacklist(long durationNanos) {
+        // Повторное попадание (медленный вызов в другой секции) продлевает срок.
+        if (blacklistLift != null) blacklistLift.cancel();
+        blacklistUntilNanos = System.nanoTime() + durationNanos;
+        blacklisted = true;
+        blacklistLift = bus.schedule(this::liftBlacklist, durationNanos);
+    }
+
+    private synchronized void liftBlacklist() {
+        // Таймер не срабатывает раньше срока; проверка отсекает задачу, отменённую слишком поздно.
+        if (!blacklisted || System.nanoTime() - blacklistUntilNanos < 0) return;
+        blacklisted = false;
+        blacklistLift = null;
+        LOG.fine(() -> "EventBus handler removed from blacklist: " + metricsId());
+    }
+
+    private void disable() {
+        if (!active) {
+            removeSelf.run();
+            return;
+        }
+        active = false;
+        for (Partition p : partitions) {
+            p.clearIfIdle();
+        }
+        removeSelf.run();
+    }
+
+    @Override
+    public void unsubscribe() {
+        disable();
+    }
+
+    /**
+     * resetWindow — начать новое окно гистограмм задержек (старое попадает в этот снимок).
+     */
+    SubscriptionMetricsSnapshot snapshot(boolean resetWindow) {
+        LatencyHistogram handlerWindow = handlerLatency;
+        LatencyHistogram waitWindow = queueWait;
+        if (resetWindow) {
+            handlerLatency = new LatencyHistogram();
+            queueWait = new LatencyHistogram();
+        }
+
+        long handledCnt = handled.sum();
+        long totalNanos = totalHandlerNanos.sum();
+        double avgMs = handledCnt == 0 ? 0.0 : (totalNanos / 1_000_000.0) / handledCnt;
+        double maxMs = maxHandlerNanos.get() / 1_000_000.0;
+
+        boolean bl = blacklisted;
+        long remainingMs = bl ? Math.max(0L, TimeUnit.NANOSECONDS.toMillis(blacklistUntilNanos - System.nanoTime())) : 0L;
+
+        List<PartitionMetricsSnapshot> parts = new ArrayList<>();
+        if (partitions.size() > 1) {
+            for (Partition p : partitions) {
+                parts.add(new PartitionMetricsSnapshot(p.index, p.size(), p.capacity(),
+                        p.handled.sum(), p.dropped.sum()));
+            }
+        }
+
+        return SubscriptionMetricsSnapshot.builder()
+                .id(metricsId())
+                .eventType(type.getName())
+                .active(active)
+                .queueSize(queueSize())
+                .queueCapacity(queueCapacity())
+                .handled(handledCnt)
+                .errors(errors.sum())
+                .dropped(dropped.sum())
+                .deadLettered(deadLettered.sum())
+                .conflated(conflatedCount.sum())
+                .filtered(filtered.sum())
+                .throttled(throttled.sum())
+                .avgHandlerMillis(avgMs)
+                .maxHandlerMillis(maxMs)
+                .blacklisted(bl)
+                .blacklistRemainingMillis(remainingMs)
+                .partitions(parts)
+                .handlerLatency(handlerWindow.snapshot())
+                .queueWait(waitWindow.snapshot())
+                .build();
+    }
+
+    /**
+     * Партиция подписки: собственные очереди (полосы приоритетов) и собственный дренаж.
+     * В каждый момент времени очереди партиции читает не более одного потока.
+     */
+    private final class Partition {
+        final int index;
+
+        // Полосы от высокого приоритета к низкому; laneFor — полоса по ordinal приоритета
+        // (для ненастроенных приоритетов — основная полоса main).
+        private final Lane[] lanes;
+        private final Lane[] laneFor;
+        final Lane main;
+
+        // Сколько событий подряд полоса отдала, пока ниже ждали события (только поток дренажа).
+        private final int[] burst;
+
+        final LongAdder handled = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+
+        // Признак того, что задача дренажа очереди уже поставлена в executor (или выполняется).
+        final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final Runnable drainTask = this::drain;
+        final Runnable signalTask = this::signal;
+
+        // Пакетный режим: переиспользуемый буфер и момент, до которого ждём добора неполной пачки.
+        private final List<Object> batchBuffer;
+        private final List<E> batchView;
+        private final long[] batchEnqueued;
+        // Участки трассы событий текущей пачки (null — трассировка выключена).
+        private final List<EventTracer.Span> batchSpans;
+        private volatile long lingerDeadlineNanos = 0L;
+
+        // Ограничение темпа: дренаж ждёт таймер (не занимая поток), пока не появится разрешение.
+        private volatile boolean throttledPause;
+        private volatile boolean resumed;
+        private final Runnable resumeTask = this::resume;
+        // DELAY: сколько элементов дренаж взял из очередей и до какого номера задержанные
+        // события уже учтены в throttled (трогает только поток дренажа).
+        private long polled;
+        private long heldCounted;
+
+        @SuppressWarnings("unchecked")
+        Partition(int index, boolean minimal) {
+            this.index = index;
+            // RateLimitAction.CONFLATE: пока дренаж ждёт разрешения, новое событие заменяет
+            // стоящее в очереди событие того же ключа.
+            boolean conflate = rateLimit != null && options.rateLimitAction() == RateLimitAction.CONFLATE;
+
+            List<Lane> ls = new ArrayList<>(PRIORITIES.length);
+            Lane[] by = new Lane[PRIORITIES.length];
+            Lane m = null;
+            for (EventPriority p : PRIORITIES) {
+                if (minimal ? p != EventPriority.NORMAL : !options.hasLane(p)) continue;
+                Lane lane = new Lane(options.queueType(), minimal ? 1 : options.laneCapacity(p),
+                        options.laneOverflowPolicy(p), conflate && !minimal);
+                ls.add(lane);
+                by[p.ordinal()] = lane;
+                if (p == EventPriority.NORMAL) m = lane;
+            }
+            for (int i = 0; i < by.length; i++) {
+                if (by[i] == null) by[i] = m;
+            }
+            this.lanes = ls.toArray(new Lane[0]);
+            this.laneFor = by;
+            this.main = m;
+            this.burst = new int[lanes.length];
+
+            if (batchHandler != null) {
+                this.batchBuffer = new ArrayList<>(options.maxBatchSize());
+                this.batchView = (List<E>) Collections.unmodifiableList(batchBuffer);
+                this.batchEnqueued = new long[options.maxBatchSize()];
+            } else {
+                this.batchBuffer = null;
+                this.batchView = null;
+                this.batchEnqueued = null;
+            }
+            this.batchSpans = batchHandler != null && tracing ? new ArrayList<>() : null;
+        }
+
+        int size() {
+            if (lanes.length == 1) return main.queue.size();
+            int total = 0;
+            for (Lane lane : lanes) total += lane.queue.size();
+            return total;
+        }
+
+        int capacity() {
+            int total = 0;
+            for (Lane lane : lanes) total += lane.queue.capacity();
+            return total;
+        }
+
+        boolean isEmpty() {
+            for (Lane lane : lanes) {
+                if (!lane.queue.isEmpty()) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Кладёт событие в полосу его приоритета, не будя дренаж. mayBlock = false запрещает
+         * ждать места при политике BLOCK (tryPublish) — такое событие отклоняется.
+         * batched — пакетная публикация, которая будит дренаж один раз в конце пачки:
+         * полная полоса будит его сразу, дальше — та же политика переполнения, что у publish().
+         */
+        int enqueue(Object event, EventPriority priority, boolean mayBlock, boolean batched) {
+            Lane lane = priority == null ? main : laneFor[priority.ordinal()];
+            if (lane.conflated != null) {
+                return enqueueConflated(lane, event, mayBlock, batched);
+            }
+
+            long now = System.nanoTime();
+            if (lane.queue.offer(event, now)) return ENQUEUED;
+            return overflowEvent(lane, event, now, mayBlock, batched);
+        }
+
+        /**
+         * Полоса полна: item (событие или ConflationSlot) ждёт места при BLOCK,
+         * иначе отклоняется; отброшенное событие учитывает вызывающий (reject).
+         */
+        private int overflow(Lane lane, Object item, long now, boolean mayBlock, boolean batched) {
+            // Пакетная публикация ещё не будила дренаж: без сигнала простаивающая подписка
+            // отвергла бы всё сверх ёмкости, а BLOCK ждал бы места вечно. Повторных попыток
+            // нет — остаток пачки решает политика полосы, как для одиночного publish().
+            if (batched) signal();
+            if (mayBlock && lane.policy == OverflowPolicy.BLOCK) {
+                try {
+                    lane.queue.put(item, now);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return REJECTED;
+                }
+                return ENQUEUED;
+            }
+            return REJECTED;
+        }
+
+        private int overflowEvent(Lane lane, Object event, long now, boolean mayBlock, boolean batched) {
+            int r = overflow(lane, event, now, mayBlock, batched);
+            if (r == REJECTED) reject(lane, event);
+            return r;
+        }
+
+        /**
+         * Событие не попало в полосу: учитывается как отброшенное, при DEAD_LETTER — в dead letters.
+         */
+        private void reject(Lane lane, Object event) {
+            recordDropped(this, 1);
+            if (lane.policy == OverflowPolicy.DEAD_LETTER) {
+                deadLetter(event, DeadLetterReason.OVERFLOW, null);
+            }
+        }
+
+        boolean redeliver(Object event) {
+            if (!main.queue.offer(event, System.nanoTime())) return false;
+            signal();
+            return true;
+        }
+
+        /**
+         * Число ключей в полосе ограничено её ёмкостью: событие нового ключа сверх неё
+         * обрабатывается политикой переполнения полосы (для CONFLATE — отбрасывается).
+         */
+        private int enqueueConflated(Lane lane, Object event, boolean mayBlock, boolean batched) {
+            Object key = options.conflationKey().apply(event);
+            long now = System.nanoTime();
+            if (key == null) {
+                // Без ключа событие не сливается ни с чем.
+                if (lane.queue.offer(event, now)) return ENQUEUED;
+                return overflowEvent(lane, event, now, mayBlock, batched);
+            }
+
+            if (lane.conflated.put(key, event) != null) {
+                // Ключ уже стоит в очереди — заменили событие на месте.
+                if (lane.policy == OverflowPolicy.CONFLATE) {
+                    conflatedCount.increment();
+                } else {
+                    throttled.increment();
+                }
+                return MERGED;
+            }
+            ConflationSlot slot = new ConflationSlot(key);
+            if (lane.queue.offer(slot, now)) return ENQUEUED;
+            int r = overflow(lane, slot, now, mayBlock, batched);
+            if (r == REJECTED) {
+                // Слот не встал, но другой издатель мог уже слить в ключ своё событие (MERGED).
+                // Снимаем ключ только вместе с тем значением, что в нём сейчас, и отбрасываем
+                // именно его: предыдущие учтены слиянием, так что каждое событие учтено один раз.
+                Object latest;
+                do {
+                    latest = lane.conflated.get(key);
+                } while (latest != null && !lane.conflated.remove(key, latest));
+                reject(lane, latest == null ? event : latest);
+            }
+            return r;
+        }
+
+        /**
+         * Для CONFLATE в очереди лежат ключи, а актуальное событие — в карте conflated.
+         */
+        private Object unwrap(Lane lane, Object item) {
+            if (!(item instanceof ConflationSlot)) return item;
+            return lane.conflated.remove(((ConflationSlot) item).key);
+        }
+
+        boolean conflates(EventPriority priority) {
+            return (priority == null ? main : laneFor[priority.ordinal()]).conflated != null;
+        }
+
+        /**
+         * Заменяет TracedEvent в пачке самими событиями; участки собирает в batchSpans.
+         */
+        private boolean unwrapTraced() {
+            for (int i = 0; i < batchBuffer.size(); i++) {
+                Object item = batchBuffer.get(i);
+                if (item instanceof TracedEvent) {
+                    TracedEvent traced = (TracedEvent) item;
+                    traced.span.dequeued();
+                    batchSpans.add(traced.span);
+                    batchBuffer.set(i, traced.event);
+                }
+            }
+            return !batchSpans.isEmpty();
+        }
+
+        private void finishTraced(boolean ok) {
+            TraceSpan.Outcome outcome = ok ? TraceSpan.Outcome.HANDLED : TraceSpan.Outcome.FAILED;
+            for (EventTracer.Span span : batchSpans) span.finish(outcome);
+            batchSpans.clear();
+        }
+
+        private int unwrapBatch(Lane lane) {
+            int w = 0;
+            for (int r = 0; r < batchBuffer.size(); r++) {
+                Object ev = unwrap(lane, batchBuffer.get(r));
+                if (ev != null) {
+                    batchEnqueued[w] = batchEnqueued[r];
+                    batchBuffer.set(w++, ev);
+                }
+            }
+            batchBuffer.subList(w, batchBuffer.size()).clear();
+            return w;
+        }
+
+        /**
+         * Полоса, из которой дренаж берёт следующее событие (пачку): самая высокая непустая,
+         * но не более starvationLimit раз подряд, пока ниже есть события.
+         */
+        private Lane nextLane() {
+            if (lanes.length == 1) return main.queue.isEmpty() ? null : main;
+
+            int limit = options.starvationLimit();
+            int top = -1;
+            for (int i = 0; i < lanes.length; i++) {
+                if (lanes[i].queue.isEmpty()) continue;
+                if (top >= 0) {
+                    // Ниже top есть события: top отдаёт очередь, если исчерпал лимит подряд.
+                    if (burst[top] < limit) {
+                        burst[top]++;
+                        return lanes[top];
+                    }
+                    burst[top] = 0;
+                }
+                top = i;
+            }
+            return top < 0 ? null : lanes[top];
+        }
+
+        void signal() {
+            if (held || throttledPause || noDemand()) return;
+            if (lingerDeadlineNanos != 0L && size() < options.maxBatchSize() && !bus.isClosed()) {
+                // Неполная пачка уже ждёт по таймеру linger.
+                return;
+            }
+            scheduleDrain();
+        }
+
+        /**
+         * Ставит дренаж очереди в executor, если он ещё не запланирован.
+         */
+        void scheduleDrain() {
+            if (!scheduled.compareAndSet(false, true)) return;
+            try {
+                bus.executor().execute(drainTask);
+            } catch (RejectedExecutionException rex) {
+                scheduled.set(false);
+                if (LOG.isLoggable(Level.FINE)) {
+                    LOG.log(Level.FINE, "EventBus drain rejected for " + metricsId(), rex);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Runnable signal = terminal;
+                if (signal != null) {
+                    terminal = null;
+                    disable();
+                    signal.run();
+                    return;
+                }
+                if (batchHandler != null) {
+                    drainBatches();
+                } else {
+                    int budget = DRAIN_BATCH;
+                    while (active && !held && budget-- > 0) {
+                        if (noDemand()) break;
+                        // Flow-подписчик завершается: следующего onNext уже не будет.
+                        if (demand != null && terminal != null) break;
+                        if (rateLimit != null) {
+                            if (!stepLimited()) break;
+                            continue;
+                        }
+                        Lane lane = nextLane();
+                        if (lane == null) break;
+                        Object item = lane.queue.poll();
+                        if (item == null) break;
+                        long enqueuedNanos = lane.queue.polledEnqueuedNanos();
+                        Object ev = unwrap(lane, item);
+                        if (ev != null) deliver(this, ev, enqueuedNanos);
+                    }
+                }
+            } catch (Throwable t) {
+                if (LOG.isLoggable(Level.FINE)) {
+                    LOG.log(Level.FINE, "EventBus pump error for " + metricsId(), t);
+                }
+            } finally {
+                scheduled.set(false);
+                if (terminal != null) {
+                    // Завершение пришло во время дренажа.
+                    scheduleDrain();
+                } else if (!active) {
+                    clearIfIdle();
+                } else if (!held && hasWork()) {
+                    // Событие могло прийти между последним poll() и сбросом флага.
+                    scheduleDrain();
+                }
+            }
+        }
+
+        /**
+         * Есть ли что дренировать прямо сейчас. Пока неполная пачка ждёт добора,
+         * дренаж будит таймер linger, а не каждый offer.
+         */
+        private boolean hasWork() {
+            if (isEmpty() || throttledPause || noDemand()) return false;
+            return lingerDeadlineNanos == 0L || size() >= options.maxBatchSize() || bus.isClosed();
+        }
+
+        private void drainBatches() {
+            int maxBatch = options.maxBatchSize();
+            long lingerNanos = TimeUnit.MILLISECONDS.toNanos(options.maxLingerMillis());
+            int budget = Math.max(DRAIN_BATCH, maxBatch);
+
+            while (active && !held && budget > 0) {
+                int available = size();
+                if (available == 0) return;
+
+                // При остановке шины неполные пачки не ждут добора.
+                if (available < maxBatch && lingerNanos > 0 && !bus.isClosed()) {
+                    long now = System.nanoTime();
+                    long deadline = lingerDeadlineNanos;
+                    if (deadline == 0L) {
+                        lingerDeadlineNanos = now + lingerNanos;
+                        bus.schedule(this::scheduleDrain, lingerNanos);
+                        return;
+                    }
+                    if (now - deadline < 0) return;
+                }
+                lingerDeadlineNanos = 0L;
+
+                if (rateLimit != null) {
+                    int n = batchLimited(maxBatch);
+                    if (n < 0) return;
+                    budget -= n;
+                    continue;
+                }
+
+                // Пачка берётся из одной полосы: приоритет и защита от голодания — попачечно.
+                Lane lane = nextLane();
+                if (lane == null) return;
+                int n = lane.queue.drainTo(batchBuffer, batchEnqueued, maxBatch);
+                if (n == 0) return;
+                budget -= n;
+                try {
+                    if (lane.conflated != null && unwrapBatch(lane) == 0) continue;
+                    boolean traced = batchSpans != null && unwrapTraced();
+                    boolean ok = deliverBatch(this, batchBuffer, batchView, batchEnqueued);
+                    if (traced) finishTraced(ok);
+                } finally {
+                    batchBuffer.clear();
+                }
+            }
+        }
+
+        // ---------------------------------------------------------------- ограничение темпа
+
+        /**
+         * Один шаг дренажа под ограничителем темпа. false — дренажу пора остановиться.
+         */
+        private boolean stepLimited() {
+            countHeld();
+            Lane lane = nextLane();
+            if (lane == null) return false;
+
+            long now = System.nanoTime();
+            if (rateLimit.acquireUpTo(1, now) == 0) {
+                if (options.rateLimitAction() != RateLimitAction.DROP) {
+                    // DELAY и CONFLATE ждут разрешения; при CONFLATE события тем временем сливаются в очереди.
+                    pause(now);
+                    return false;
+                }
+                Object item = lane.queue.poll();
+                if (item == null) return false;
+                polled++;
+                if (unwrap(lane, item) != null) throttled.increment();
+                return true;
+            }
+
+            Object item = lane.queue.poll();
+            if (item == null) {
+                rateLimit.release(1);
+                return false;
+            }
+            polled++;
+            long enqueuedNanos = lane.queue.polledEnqueuedNanos();
+            Object ev = unwrap(lane, item);
+            if (ev != null) {
+                deliver(this, ev, enqueuedNanos);
+            } else {
+                rateLimit.release(1);
+            }
+            return true;
+        }
+
+        /**
+         * Пачка под ограничителем темпа: размер пачки урезается до числа разрешений.
+         * Возвращает число взятых из очереди событий или -1, если дренажу пора остановиться.
+         */
+        private int batchLimited(int maxBatch) {
+            countHeld();
+            Lane lane = nextLane();
+            if (lane == null) return -1;
+
+            long now = System.nanoTime();
+            int granted = rateLimit.acquireUpTo(maxBatch, now);
+            if (granted == 0 && options.rateLimitAction() != RateLimitAction.DROP) {
+                pause(now);
+                return -1;
+            }
+
+            try {
+                int n = lane.queue.drainTo(batchBuffer, batchEnqueued, granted > 0 ? granted : maxBatch);
+                polled += n;
+                if (lane.conflated != null) unwrapBatch(lane);
+                if (granted > 0) {
+                    rateLimit.release(granted - batchBuffer.size());
+                    if (!batchBuffer.isEmpty()) deliverBatch(this, batchBuffer, batchView, batchEnqueued);
+                } else {
+                    throttled.add(batchBuffer.size());
+                }
+                return Math.max(1, n);
+            } finally {
+                batchBuffer.clear();
+            }
+        }
+
+        /**
+         * DELAY: после паузы учитывает в throttled каждое дождавшееся разрешения событие
+         * по одному разу — и стоявшие в очереди до паузы, и пришедшие во время неё.
+         */
+        private void countHeld() {
+            if (!resumed) return;
+            resumed = false;
+            if (options.rateLimitAction() != RateLimitAction.DELAY) return;
+            long end = polled + size();
+            long from = Math.max(heldCounted, polled);
+            if (end > from) throttled.add(end - from);
+            heldCounted = end;
+        }
+
+        /**
+         * Отпускает поток пула до появления разрешения; сигналы публикаций до тех пор не будят дренаж.
+         */
+        private void pause(long nowNanos) {
+            if (throttledPause) return;
+            throttledPause = true;
+            bus.schedule(resumeTask, rateLimit.nanosUntilPermit(nowNanos));
+        }
+
+        private void resume() {
+            resumed = true;
+            throttledPause = false;
+            scheduleDrain();
+        }
+
+        /**
+         * Очищает очереди, только если дренаж сейчас не выполняется: читать очередь
+         * должен один поток (требование MPSC-реализации). Иначе очистку сделает сам дренаж.
+         */
+        private void clearIfIdle() {
+            if (!scheduled.compareAndSet(false, true)) return;
+            try {
+                for (Lane lane : lanes) {
+                    if (tracing) {
+                        // Снятое событие больше не будет обработано — его участок закрывается.
+                        Object item;
+                        while ((item = lane.queue.poll()) != null) {
+                            if (item instanceof TracedEvent) {
+                                ((TracedEvent) item).span.finish(TraceSpan.Outcome.DROPPED);
+                            }
+                        }
+                    } else {
+                        lane.queue.clear();
+                    }
+                    if (lane.conflated != null) lane.conflated.clear();
+                }
+            } finally {
+                scheduled.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.metrics.EventTrace;
+import com.coresys.platform.kernel.events.metrics.TraceSpan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Трассировка шины событий: EventTracer.
+ *
+ * Выборочная трассировка публикаций. Для отобранного события publish() заводит Trace,
+ * а на каждую подписку fan-out — Span, который едет по очереди вместе с событием
+ * (TracedEvent) и закрывается после обработчика. Когда закрыты все участки, трасса
+ * попадает в кольцо последних трасс фиксированного размера. Неотобранные события
+ * не создают ни объектов, ни записей времени. Участок события, снятого из очереди
+ * при отписке или оставшегося в очереди после остановки шины, закрывается как DROPPED.
+ *
+ * @author Евгений Платонов
+ */
+
+final class EventTracer {
+
+    private final double sampleRate;
+    private final AtomicReferenceArray<EventTrace> ring;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong traceIds = new AtomicLong();
+    // Трассы с незакрытыми участками — чтобы закрыть их при остановке шины.
+    private final Set<Trace> inFlight = ConcurrentHashMap.newKeySet();
+
+    EventTracer(double sampleRate, int capacity) {
+        this.sampleRate = sampleRate;
+        this.ring = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    boolean sample() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    Trace begin(Object event) {
+        Trace t = new Trace(traceIds.incrementAndGet(), event.getClass().getName());
+        inFlight.add(t);
+        return t;
+    }
+
+    /**
+     * Остановка шины: участки, чьи события так и не взяты из очереди, закрываются как DROPPED.
+     * Трассы, рассылка которых ещё идёт, не трогаются — их участки добавляет публикующий поток.
+     */
+    void abandonQueued() {
+        for (Trace t : inFlight) {
+            if (!t.dispatched) continue;
+            for (Span s : t.spans) {
+                if (s.dequeueNanos < 0) s.finish(TraceSpan.Outcome.DROPPED);
+            }
+        }
+    }
+
+    /**
+     * Завершённые трассы, от старых к новым. Трасса, записываемая прямо сейчас,
+     * может ещё не попасть в выборку.
+     */
+    List<EventTrace> recent() {
+        int cap = ring.length();
+        long end = written.get();
+        long start = Math.max(0, end - cap);
+        List<EventTrace> out = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            EventTrace t = ring.get((int) (i % cap));
+            if (t != null) out.add(t);
+        }
+        return out;
+    }
+
+    private void record(EventTrace trace) {
+        long slot = written.getAndIncrement();
+        ring.set((int) (slot % ring.length()), trace);
+    }
+
+    /**
+     * Трасса одной публикации. Участки добавляет только публикующий поток, до dispatched();
+     * счётчик open держит трассу открытой, пока идёт рассылка или не закрыт хоть один участок.
+     */
+    final class Trace {
+        private final long id;
+        private final String eventType;
+        private final long publishNanos = System.nanoTime();
+        private final long publishEpochMillis = System.currentTimeMillis();
+        private final List<Span> spans = new ArrayList<>(4);
+        private final AtomicInteger open = new AtomicInteger(1);
+        private volatile boolean dispatched;
+
+        private Trace(long id, String eventType) {
+            this.id = id;
+            this.eventType = eventType;
+        }
+
+        Span span(EventSubscription<?> subscription) {
+            Span s = new Span(this, subscription.metricsId());
+            spans.add(s);
+            open.incrementAndGet();
+            return s;
+        }
+
+        /**
+         * Рассылка по подпискам закончена: новых участков не будет.
+         */
+        void dispatched() {
+            dispatched = true;
+            release();
+        }
+
+        private long elapsed() {
+            return System.nanoTime() - publishNanos;
+        }
+
+        private void release() {
+            if (open.decrementAndGet() != 0) return;
+            inFlight.remove(this);
+            List<TraceSpan> done = new ArrayList<>(spans.size());
+            for (Span s : spans) {
+                done.add(new TraceSpan(s.subscriptionId, s.enqueueNanos, s.dequeueNanos, s.handlerEndNanos, s.outcome));
+            }
+            record(new EventTrace(id, eventType, publishEpochMillis, elapsed(), done));
+        }
+    }
+
+    /**
+     * Участок трассы в одной подписке. Поля пишет сначала публикующий поток, затем поток
+     * дренажа; видимость даёт очередь подписки и декремент счётчика трассы. Закрывается
+     * один раз: повторный finish (дренаж после закрытия при остановке шины) ничего не делает.
+     */
+    static final class Span {
+        private final Trace trace;
+        private final String subscriptionId;
+        private long enqueueNanos = -1;
+        private volatile long dequeueNanos = -1;
+        private long handlerEndNanos = -1;
+        private TraceSpan.Outcome outcome;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private Span(Trace trace, String subscriptionId) {
+            this.trace = trace;
+            this.subscriptionId = subscriptionId;
+        }
+
+        void enqueued() {
+            enqueueNanos = trace.elapsed();
+        }
+
+        void dequeued() {
+            dequeueNanos = trace.elapsed();
+        }
+
+        void finish(TraceSpan.Outcome result) {
+            if (!finished.compareAndSet(false, true)) return;
+            if (result == TraceSpan.Outcome.HANDLED || result == TraceSpan.Outcome.FAILED) {
+                handlerEndNanos = trace.elapsed();
+            }
+            outcome = result;
+            trace.release();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.EventBus;
+import com.coresys.platform.kernel.events.EventHandler;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+
+/**
+ * Адаптер подписок шины к java.util.concurrent.Flow: FlowPublisher.
+ *
+ * Каждый Flow.Subscriber получает свою подписку шины с одной партицией; её дренаж
+ * вызывает onNext только в пределах request(n) и при нулевом спросе отпускает поток,
+ * оставляя события в очереди. Пока спроса нет, очередь заполняется, и дальше действует
+ * OverflowPolicy подписки (BLOCK — обратное давление на публикующих).
+ *
+ * Поток событий бесконечен: onComplete не вызывается, cancel() снимает подписку.
+ * request(n <= 0) снимает подписку и сообщает onError через дренаж подписки — после
+ * идущего onNext, а не параллельно с ним. Исключение из onNext тоже снимает подписку:
+ * подписчик, нарушивший §2.13, больше событий не получает.
+ *
+ * @author Евгений Платонов
+ */
+
+final class FlowPublisher<E> implements Flow.Publisher<E> {
+
+    private final DefaultEventBus bus;
+    private final Class<E> eventType;
+    private final SubscriptionOptions options;
+
+    FlowPublisher(DefaultEventBus bus, Class<E> eventType, SubscriptionOptions options) {
+        this.bus = bus;
+        this.eventType = eventType;
+        this.options = options;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super E> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        Bridge<E> bridge = new Bridge<>(subscriber);
+        bridge.sub = bus.newSubscription(eventType, bridge, options, true);
+        bridge.registration = bus.register(bridge.sub);
+        // Спрос нулевой — до request(n) из onSubscribe ни одного onNext не будет.
+        subscriber.onSubscribe(bridge);
+    }
+
+    /**
+     * Обработчик подписки шины и Flow.Subscription одного подписчика.
+     */
+    private static final class Bridge<E> implements EventHandler<E>, Flow.Subscription {
+        private final Flow.Subscriber<? super E> subscriber;
+        private EventSubscription<E> sub;
+        private EventBus.Subscription registration;
+
+        Bridge(Flow.Subscriber<? super E> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onEvent(E event) {
+            try {
+                subscriber.onNext(event);
+            } catch (Throwable t) {
+                registration.unsubscribe();
+                throw t;
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n > 0) {
+                sub.request(n);
+                return;
+            }
+            // После cancel() request — пустая операция (§3.6).
+            if (!sub.active) return;
+            IllegalArgumentException error = new IllegalArgumentException("request(n) requires n > 0, got " + n);
+            sub.terminate(() -> subscriber.onError(error));
+        }
+
+        @Override
+        public void cancel() {
+            registration.unsubscribe();
+        }
+    }
+}
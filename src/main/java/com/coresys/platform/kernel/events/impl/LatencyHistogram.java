@@ -0,0 +1,109 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.metrics.LatencySnapshot;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма задержек: LatencyHistogram.
+ *
+ * Lock-free гистограмма наносекундных значений с логарифмическими корзинами:
+ * каждая степень двойки делится на 8 линейных под-корзин (погрешность ≤ 12.5%).
+ * Запись — один incrementAndGet по корзине; перцентили считаются при снимке.
+ *
+ * @author Евгений Платонов
+ */
+
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    // 2^42 нс ≈ 73 минуты; всё, что больше, попадает в последнюю корзину.
+    private static final int MAX_EXP = 42;
+    private static final int BUCKETS = (MAX_EXP - SUB_BITS + 2) * SUB_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder sumNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final long startedNanos = System.nanoTime();
+
+    void record(long nanos) {
+        long v = Math.max(0L, nanos);
+        buckets.incrementAndGet(indexOf(v));
+        sumNanos.add(v);
+        if (v > maxNanos.get()) {
+            maxNanos.accumulateAndGet(v, Math::max);
+        }
+    }
+
+    LatencySnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long windowMillis = (System.nanoTime() - startedNanos) / 1_000_000L;
+        if (total == 0) {
+            return new LatencySnapshot(0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, windowMillis);
+        }
+
+        long max = maxNanos.get();
+        return new LatencySnapshot(
+                total,
+                toMillis(sumNanos.sum() / (double) total),
+                toMillis(percentile(counts, total, 0.50, max)),
+                toMillis(percentile(counts, total, 0.90, max)),
+                toMillis(percentile(counts, total, 0.99, max)),
+                toMillis(percentile(counts, total, 0.999, max)),
+                toMillis(max),
+                windowMillis
+        );
+    }
+
+    private static double percentile(long[] counts, long total, double q, long max) {
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // Верхняя граница корзины, но не больше фактического максимума.
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int indexOf(long v) {
+        if (v < SUB_COUNT) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        if (exp > MAX_EXP) return BUCKETS - 1;
+        int sub = (int) ((v >>> (exp - SUB_BITS)) & (SUB_COUNT - 1));
+        return (exp - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_COUNT) return index;
+        int exp = index / SUB_COUNT - 1 + SUB_BITS;
+        int sub = index % SUB_COUNT;
+        return ((long) (SUB_COUNT + sub)) << (exp - SUB_BITS);
+    }
+
+    static long upperBound(int index) {
+        if (index >= BUCKETS - 1) return Long.MAX_VALUE;
+        return lowerBound(index + 1) - 1;
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
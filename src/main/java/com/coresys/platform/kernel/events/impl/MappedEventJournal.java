@@ -0,0 +1,374 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.journal.EventCodec;
+import com.coresys.platform.kernel.events.journal.EventJournal;
+import com.coresys.platform.kernel.events.journal.JournalHandler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Журнал событий на отображённых в память сегментах: MappedEventJournal.
+ *
+ * Сегмент — файл фиксированного размера segmentBytes с именем по базовому смещению
+ * (journal-00000000000000000000.log). Запись: [int длина тела][int CRC32 тела]
+ * [short длина id кодека][id][данные]. Длина пишется последней, нулевая длина —
+ * конец сегмента. При открытии последний сегмент просматривается до первой
+ * повреждённой записи: недописанный хвост после сбоя отбрасывается.
+ *
+ * Запись идёт под одним lock-ом (кодирование — до него); чтение (replay) открывает
+ * сегменты отдельно и читает не дальше endOffset на момент начала.
+ *
+ * @author Евгений Платонов
+ */
+
+final class MappedEventJournal implements EventJournal {
+
+    private static final Logger LOG = Logger.getLogger(MappedEventJournal.class.getName());
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER = 8;
+
+    private final Path dir;
+    private final int segmentBytes;
+
+    private final Map<Class<?>, EventCodec<?>> byType = new ConcurrentHashMap<>();
+    private final Map<String, EventCodec<?>> byId = new ConcurrentHashMap<>();
+
+    private final Object lock = new Object();
+    private final NavigableMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+    private MappedByteBuffer active;
+    private long activeBase;
+    private volatile long endOffset;
+    private volatile boolean enabled;
+
+    /**
+     * dir == null — журнал выключен.
+     */
+    MappedEventJournal(Path dir, int segmentBytes) {
+        this.dir = dir;
+        this.segmentBytes = Math.max(4096, segmentBytes);
+        if (dir == null) return;
+
+        try {
+            open();
+            enabled = true;
+            loadCodecs();
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.WARNING, "Event journal disabled: cannot open " + dir, e);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void register(EventCodec<?> codec) {
+        if (!enabled) throw new IllegalStateException("Event journal is disabled");
+        if (codec == null) throw new IllegalArgumentException("codec must not be null");
+        if (codec.eventType() == null) throw new IllegalArgumentException("codec.eventType() must not be null");
+        if (codec.id().getBytes(StandardCharsets.UTF_8).length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("codec id is too long: " + codec.id());
+        }
+        byId.put(codec.id(), codec);
+        byType.put(codec.eventType(), codec);
+    }
+
+    @Override
+    public boolean unregister(Class<?> eventType) {
+        return eventType != null && byType.remove(eventType) != null;
+    }
+
+    @Override
+    public long startOffset() {
+        Map.Entry<Long, Path> first = segments.firstEntry();
+        return first == null ? 0L : first.getKey();
+    }
+
+    @Override
+    public long endOffset() {
+        return endOffset;
+    }
+
+    /**
+     * Дописывает событие, если для его класса есть кодек. Возвращает смещение записи или -1.
+     */
+    @SuppressWarnings("unchecked")
+    long append(Object event) {
+        if (byType.isEmpty()) return -1L;
+        EventCodec<Object> codec = (EventCodec<Object>) byType.get(event.getClass());
+        if (codec == null) return -1L;
+
+        byte[] id = codec.id().getBytes(StandardCharsets.UTF_8);
+        byte[] data;
+        try {
+            data = codec.encode(event);
+        } catch (Throwable t) {
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Event journal codec " + codec.id() + " failed to encode", t);
+            }
+            return -1L;
+        }
+        if (data == null) data = new byte[0];
+
+        int bodyLen = 2 + id.length + data.length;
+        if (HEADER + bodyLen > segmentBytes) {
+            LOG.warning("Event journal record of " + bodyLen + " bytes exceeds segment size " + segmentBytes);
+            return -1L;
+        }
+        CRC32 crc = new CRC32();
+        crc.update((byte) (id.length >>> 8));
+        crc.update((byte) id.length);
+        crc.update(id);
+        crc.update(data);
+
+        synchronized (lock) {
+            if (active == null) return -1L;
+            try {
+                if (active.position() + HEADER + bodyLen > segmentBytes) {
+                    roll();
+                }
+                int pos = active.position();
+                long offset = activeBase + pos;
+                active.putInt(pos + 4, (int) crc.getValue());
+                active.putShort(pos + 8, (short) id.length);
+                active.position(pos + 10);
+                active.put(id);
+                active.put(data);
+                // Длина — последней: до неё запись для читателя не существует.
+                active.putInt(pos, bodyLen);
+                endOffset = activeBase + active.position();
+                return offset;
+            } catch (IOException | RuntimeException e) {
+                LOG.log(Level.WARNING, "Event journal append failed", e);
+                return -1L;
+            }
+        }
+    }
+
+    @Override
+    public long replay(long fromOffset, JournalHandler handler) {
+        if (handler == null) throw new IllegalArgumentException("handler must not be null");
+        long end = endOffset;
+        long offset = Math.max(fromOffset, startOffset());
+
+        while (offset < end) {
+            Map.Entry<Long, Path> seg = segments.floorEntry(offset);
+            if (seg == null) break;
+            long base = seg.getKey();
+            ByteBuffer buf;
+            try {
+                buf = mapReadOnly(seg.getValue());
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Event journal segment is not readable: " + seg.getValue(), e);
+                break;
+            }
+
+            int pos = (int) (offset - base);
+            boolean corrupted = false;
+            while (base + pos < end && pos + HEADER <= buf.limit()) {
+                int len = buf.getInt(pos);
+                if (len <= 0) break;
+                if (pos + HEADER + len > buf.limit() || !crcMatches(buf, pos, len)) {
+                    corrupted = true;
+                    break;
+                }
+                deliver(buf, pos, len, base + pos, handler);
+                pos += HEADER + len;
+            }
+            if (corrupted) {
+                LOG.warning("Event journal record at offset " + (base + pos) + " is corrupted, replay stopped");
+                return base + pos;
+            }
+
+            offset = base + pos;
+            if (offset >= end) break;
+            // Конец сегмента: переходим к следующему.
+            Long next = segments.higherKey(base);
+            if (next == null) break;
+            offset = next;
+        }
+        return Math.min(Math.max(offset, fromOffset), end);
+    }
+
+    private void deliver(ByteBuffer buf, int pos, int len, long offset, JournalHandler handler) {
+        int idLen = buf.getShort(pos + HEADER);
+        byte[] id = new byte[idLen];
+        byte[] data = new byte[len - 2 - idLen];
+        ByteBuffer view = buf.duplicate();
+        view.position(pos + HEADER + 2);
+        view.get(id);
+        view.get(data);
+
+        EventCodec<?> codec = byId.get(new String(id, StandardCharsets.UTF_8));
+        if (codec == null) return;
+        try {
+            Object event = codec.decode(data);
+            if (event != null) handler.onEvent(offset, event);
+        } catch (Throwable t) {
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Event journal replay failed at offset " + offset, t);
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        synchronized (lock) {
+            if (active != null) active.force();
+        }
+    }
+
+    /**
+     * Сбрасывает активный сегмент на диск и прекращает запись: append возвращает -1,
+     * isEnabled() — false. Уже записанное по-прежнему читается replay. Отображение
+     * освобождается сборщиком мусора.
+     */
+    void close() {
+        synchronized (lock) {
+            if (active == null) return;
+            try {
+                active.force();
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Event journal flush on close failed", e);
+            }
+            active = null;
+            enabled = false;
+        }
+    }
+
+    @Override
+    public int truncateBefore(long offset) {
+        int removed = 0;
+        synchronized (lock) {
+            for (Map.Entry<Long, Path> e : segments.entrySet()) {
+                Long next = segments.higherKey(e.getKey());
+                if (next == null || next > offset || e.getKey() == activeBase) break;
+                try {
+                    Files.deleteIfExists(e.getValue());
+                    segments.remove(e.getKey());
+                    removed++;
+                } catch (IOException ex) {
+                    LOG.log(Level.WARNING, "Event journal segment was not deleted: " + e.getValue(), ex);
+                    break;
+                }
+            }
+        }
+        return removed;
+    }
+
+    // ---------------------------------------------------------------- сегменты
+
+    private void open() throws IOException {
+        Files.createDirectories(dir);
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+            for (Path p : ds) {
+                String n = p.getFileName().toString();
+                try {
+                    segments.put(Long.parseLong(n.substring(PREFIX.length(), n.length() - SUFFIX.length())), p);
+                } catch (NumberFormatException ignore) {
+                    // Чужой файл с похожим именем.
+                }
+            }
+        }
+
+        if (segments.isEmpty()) {
+            activate(0L);
+            return;
+        }
+        long base = segments.lastKey();
+        activate(base);
+        active.position(recover(active));
+        endOffset = activeBase + active.position();
+    }
+
+    /**
+     * Позиция после последней целой записи сегмента.
+     */
+    private int recover(ByteBuffer buf) {
+        int pos = 0;
+        while (pos + HEADER <= buf.limit()) {
+            int len = buf.getInt(pos);
+            if (len <= 0 || pos + HEADER + len > buf.limit() || !crcMatches(buf, pos, len)) break;
+            pos += HEADER + len;
+        }
+        if (pos + HEADER <= buf.limit() && buf.getInt(pos) != 0) {
+            // Недописанная запись: обнуляем длину, чтобы читатели видели конец сегмента.
+            buf.putInt(pos, 0);
+        }
+        return pos;
+    }
+
+    private void roll() throws IOException {
+        long next = activeBase + active.position();
+        if (active.position() + 4 <= segmentBytes) {
+            active.putInt(active.position(), 0);
+        }
+        active.force();
+        activate(next);
+        endOffset = next;
+    }
+
+    private void activate(long base) throws IOException {
+        Path file = dir.resolve(String.format("%s%020d%s", PREFIX, base, SUFFIX));
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long size = Math.max(ch.size(), segmentBytes);
+            active = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        activeBase = base;
+        segments.put(base, file);
+    }
+
+    private static ByteBuffer mapReadOnly(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            return ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+    }
+
+    private static boolean crcMatches(ByteBuffer buf, int pos, int len) {
+        ByteBuffer body = buf.duplicate();
+        body.position(pos + HEADER);
+        body.limit(pos + HEADER + len);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue() == buf.getInt(pos + 4);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void loadCodecs() {
+        try {
+            for (EventCodec codec : ServiceLoader.load(EventCodec.class)) {
+                register(codec);
+            }
+        } catch (ServiceConfigurationError | RuntimeException e) {
+            LOG.log(Level.WARNING, "Event journal codec failed to load", e);
+        }
+    }
+}
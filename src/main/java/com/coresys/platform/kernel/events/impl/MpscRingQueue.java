@@ -0,0 +1,155 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Очередь подписки: MpscRingQueue.
+ *
+ * Ограниченный lock-free кольцевой буфер (схема Вьюкова): производители захватывают
+ * ячейку CAS-ом по хвосту, единственный потребитель читает голову без CAS.
+ * Каждая ячейка хранит номер последовательности, по которому определяется,
+ * свободна она или уже опубликована. Ёмкость округляется вверх до степени двойки.
+ *
+ * @author Евгений Платонов
+ */
+
+final class MpscRingQueue implements SubscriptionQueue {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Object> buffer;
+    private final long[] enqueuedAt;
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong(0);
+    // Пишет только потребитель; volatile нужен для size()/isEmpty() из других потоков.
+    private volatile long head = 0;
+    private long polledEnqueuedNanos;
+
+    MpscRingQueue(int requestedCapacity) {
+        int cap = 1;
+        int target = Math.min(MAX_CAPACITY, Math.max(1, requestedCapacity));
+        while (cap < target) cap <<= 1;
+
+        this.capacity = cap;
+        this.mask = cap - 1;
+        this.buffer = new AtomicReferenceArray<>(cap);
+        this.enqueuedAt = new long[cap];
+        this.sequences = new AtomicLongArray(cap);
+        for (int i = 0; i < cap; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    @Override
+    public boolean offer(Object event, long enqueuedNanos) {
+        if (event == null) throw new NullPointerException("event");
+        long t;
+        int idx;
+        while (true) {
+            t = tail.get();
+            idx = (int) (t & mask);
+            long dif = sequences.getAcquire(idx) - t;
+            if (dif == 0) {
+                if (tail.compareAndSet(t, t + 1)) break;
+            } else if (dif < 0) {
+                // Ячейка ещё не освобождена потребителем — очередь заполнена.
+                return false;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        // Обычные записи публикуются release-записью номера последовательности.
+        enqueuedAt[idx] = enqueuedNanos;
+        buffer.setPlain(idx, event);
+        sequences.setRelease(idx, t + 1);
+        return true;
+    }
+
+    @Override
+    public void put(Object event, long enqueuedNanos) throws InterruptedException {
+        int spins = 0;
+        while (!offer(event, enqueuedNanos)) {
+            if (Thread.interrupted()) throw new InterruptedException();
+            if (spins < 64) {
+                spins++;
+                Thread.onSpinWait();
+            } else if (spins < 128) {
+                spins++;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(50_000L);
+            }
+        }
+    }
+
+    @Override
+    public Object poll() {
+        long h = head;
+        int idx = (int) (h & mask);
+        if (sequences.getAcquire(idx) != h + 1) return null;
+
+        Object event = buffer.getPlain(idx);
+        polledEnqueuedNanos = enqueuedAt[idx];
+        buffer.setPlain(idx, null);
+        sequences.setRelease(idx, h + capacity);
+        head = h + 1;
+        return event;
+    }
+
+    @Override
+    public long polledEnqueuedNanos() {
+        return polledEnqueuedNanos;
+    }
+
+    @Override
+    public int drainTo(Collection<Object> sink, long[] enqueuedNanos, int maxEvents) {
+        int limit = Math.min(maxEvents, enqueuedNanos.length);
+        int n = 0;
+        while (n < limit) {
+            Object event = poll();
+            if (event == null) break;
+            sink.add(event);
+            enqueuedNanos[n++] = polledEnqueuedNanos;
+        }
+        return n;
+    }
+
+    @Override
+    public int size() {
+        long size = tail.get() - head;
+        if (size <= 0) return 0;
+        return (int) Math.min(size, capacity);
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear() {
+        // Вызывается только владельцем дренажа, поэтому свойство «один потребитель» сохраняется.
+        while (poll() != null) {
+            // просто выбрасываем события
+        }
+    }
+}
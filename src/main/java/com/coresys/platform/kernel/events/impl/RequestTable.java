@@ -0,0 +1,132 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Таблица корреляции request/reply: RequestTable.
+ *
+ * Ключ — сам объект запроса (по identity), значение — ожидающий future с типом ответа.
+ * Ответ находит запрос одним lookup-ом, без разбора подписок по типу.
+ * Таймауты ставятся в общий TimerWheel шины.
+ *
+ * @author Евгений Платонов
+ */
+
+final class RequestTable {
+
+    private static final class Key {
+        final Object request;
+
+        Key(Object request) {
+            this.request = request;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(request);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).request == request;
+        }
+    }
+
+    private static final class Pending<R> {
+        final Class<R> replyType;
+        final CompletableFuture<R> future = new CompletableFuture<>();
+        volatile TimerWheel.Timeout timeout;
+
+        Pending(Class<R> replyType) {
+            this.replyType = replyType;
+        }
+
+        boolean complete(Object reply) {
+            cancelTimeout();
+            if (reply != null && !replyType.isInstance(reply)) {
+                return future.completeExceptionally(new ClassCastException(
+                        "Reply " + reply.getClass().getName() + " is not " + replyType.getName()));
+            }
+            return future.complete(replyType.cast(reply));
+        }
+
+        boolean fail(Throwable error) {
+            cancelTimeout();
+            return future.completeExceptionally(error);
+        }
+
+        void cancelTimeout() {
+            TimerWheel.Timeout t = timeout;
+            if (t != null) t.cancel();
+        }
+    }
+
+    private final Map<Key, Pending<?>> pending = new ConcurrentHashMap<>();
+    private final TimerWheel timer;
+
+    RequestTable(TimerWheel timer) {
+        this.timer = timer;
+    }
+
+    /**
+     * Регистрирует ожидание ответа на request. timeoutMillis ≤ 0 — без таймаута.
+     * Отмена возвращённого future снимает запрос из таблицы.
+     */
+    <R> CompletableFuture<R> register(Object request, Class<R> replyType, long timeoutMillis) {
+        Key key = new Key(request);
+        Pending<R> p = new Pending<>(replyType);
+        if (pending.putIfAbsent(key, p) != null) {
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "Request already in flight: " + request.getClass().getName()));
+        }
+
+        if (timeoutMillis > 0) {
+            p.timeout = timer.schedule(() -> {
+                if (pending.remove(key, p)) {
+                    p.future.completeExceptionally(new TimeoutException(
+                            "No reply to " + request.getClass().getName() + " within " + timeoutMillis + " ms"));
+                }
+            }, TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+        }
+        p.future.whenComplete((r, t) -> {
+            if (pending.remove(key, p)) p.cancelTimeout();
+        });
+        return p.future;
+    }
+
+    boolean complete(Object request, Object reply) {
+        Pending<?> p = pending.remove(new Key(request));
+        return p != null && p.complete(reply);
+    }
+
+    boolean fail(Object request, Throwable error) {
+        Pending<?> p = pending.remove(new Key(request));
+        return p != null && p.fail(error);
+    }
+
+    /**
+     * Завершает все ожидающие запросы ошибкой error — при остановке шины, когда таймауты
+     * больше не сработают.
+     */
+    void failAll(Throwable error) {
+        for (Key key : pending.keySet()) {
+            Pending<?> p = pending.remove(key);
+            if (p != null) p.fail(error);
+        }
+    }
+
+    int size() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,358 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.EventBus;
+import com.coresys.platform.kernel.events.EventRing;
+import com.coresys.platform.kernel.events.RingEventHandler;
+import com.coresys.platform.kernel.events.metrics.SubscriptionMetricsSnapshot;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Кольцевой канал шины: RingChannel.
+ *
+ * Слоты создаются один раз при построении. Публикующие занимают последовательности
+ * CAS-ом по claim (несколько производителей); готовность слота отмечается номером
+ * круга в available, поэтому потребитель видит только опубликованные слоты и не
+ * перепрыгивает через ещё не заполненные. Производитель не обгоняет самого медленного
+ * потребителя больше чем на размер кольца.
+ *
+ * Потребители дренируются на executor-е шины по требованию, как очереди подписок:
+ * пока потребитель не успевает, сигнал публикации — один неудачный CAS, без аллокаций.
+ * Список потребителей — массив-снимок, заменяемый при подписке и отписке, поэтому
+ * publish() и расчёт минимума не создают итераторов.
+ *
+ * После начала EventBus.drain() кольцо, как и publish() шины, не принимает новых
+ * публикаций: занятие слота отклоняется и учитывается в DrainReport.rejected().
+ * Слоты, занятые до остановки, публикуются и дочитываются как обычно.
+ *
+ * @author Евгений Платонов
+ */
+
+final class RingChannel<T> implements EventRing<T> {
+
+    private static final Logger LOG = Logger.getLogger(DefaultEventBus.class.getName());
+
+    // Сколько событий потребитель обрабатывает за заход, прежде чем вернуть поток пулу.
+    private static final int DRAIN_BATCH = 1024;
+
+    private final String name;
+    private final DefaultEventBus bus;
+    private final Executor executor;
+    private final Object[] slots;
+    private final int mask;
+    private final int shift;
+
+    // Номер круга, на котором слот опубликован; -1 — ещё ни разу.
+    private final AtomicIntegerArray available;
+    private final AtomicLong claim = new AtomicLong(-1L);
+    // Последний вычисленный минимум потребителей. Обновляется только CAS-ом от прочитанного
+    // значения: иначе производитель, посчитавший минимум до подписки нового потребителя,
+    // мог бы записать устаревшее (большее) значение поверх сброса в subscribe.
+    private final AtomicLong gatingCache = new AtomicLong(-1L);
+    // Нижняя граница: все слоты до неё включительно опубликованы. Производители не обгоняют
+    // её на круг даже без потребителей — иначе опоздавший публикующий перезаписал бы слот
+    // и номер круга более новой публикации, и потребитель встал бы на этом слоте навсегда.
+    private final AtomicLong published = new AtomicLong(-1L);
+
+    // Снимок потребителей; заменяется целиком под consumersLock.
+    private volatile Consumer[] consumers = noConsumers();
+    private final Object consumersLock = new Object();
+    private final AtomicInteger consumerIds = new AtomicInteger();
+
+    RingChannel(DefaultEventBus bus, String name, Supplier<? extends T> slotFactory, int bufferSize) {
+        Objects.requireNonNull(slotFactory, "slotFactory");
+        if (bufferSize < 1) throw new IllegalArgumentException("bufferSize must be > 0");
+        int size = 1;
+        while (size < bufferSize) size <<= 1;
+
+        this.name = name == null ? "" : name;
+        this.bus = bus;
+        this.executor = bus.executor();
+        this.slots = new Object[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = Objects.requireNonNull(slotFactory.get(), "slotFactory returned null");
+        }
+        this.mask = size - 1;
+        this.shift = Integer.numberOfTrailingZeros(size);
+        this.available = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            available.set(i, -1);
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public int bufferSize() {
+        return slots.length;
+    }
+
+    @Override
+    public long next() {
+        rejectIfClosed();
+        int spins = 0;
+        for (;;) {
+            long seq = claimNext();
+            if (seq >= 0) return seq;
+            if (spins < 64) {
+                spins++;
+                Thread.onSpinWait();
+            } else if (spins < 128) {
+                spins++;
+                Thread.yield();
+            } else {
+                // Остановленная шина может уже не дочитать кольцо — не ждём места вечно.
+                rejectIfClosed();
+                LockSupport.parkNanos(50_000L);
+            }
+        }
+    }
+
+    @Override
+    public long tryNext() {
+        if (bus.rejectIfClosed(1)) return -1L;
+        return claimNext();
+    }
+
+    private void rejectIfClosed() {
+        if (bus.rejectIfClosed(1)) throw new IllegalStateException("EventBus is closed");
+    }
+
+    private long claimNext() {
+        for (;;) {
+            long current = claim.get();
+            long next = current + 1;
+            long wrapPoint = next - slots.length;
+            long cached = gatingCache.get();
+            if (wrapPoint > cached) {
+                long min = minConsumerSequence(current);
+                gatingCache.compareAndSet(cached, min);
+                if (wrapPoint > min) return -1L;
+            }
+            if (claim.compareAndSet(current, next)) return next;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(long sequence) {
+        return (T) slots[(int) (sequence & mask)];
+    }
+
+    @Override
+    public void publish(long sequence) {
+        available.set((int) (sequence & mask), (int) (sequence >>> shift));
+        Consumer[] cs = consumers;
+        for (int i = 0; i < cs.length; i++) {
+            cs[i].signal();
+        }
+    }
+
+    @Override
+    public EventBus.Subscription subscribe(RingEventHandler<? super T> handler) {
+        Objects.requireNonNull(handler, "handler");
+        // Как в Disruptor: сначала потребитель становится виден производителям с заведомо
+        // не большей последовательностью, затем переставляется на текущий claim. Иначе между
+        // чтением claim и добавлением производители, не видя его, могли бы обогнать его на круг.
+        Consumer c = new Consumer(handler, claim.get());
+        synchronized (consumersLock) {
+            Consumer[] cs = Arrays.copyOf(consumers, consumers.length + 1);
+            cs[cs.length - 1] = c;
+            consumers = cs;
+        }
+        gatingCache.set(Long.MIN_VALUE);
+        c.sequence.set(claim.get());
+        // Новый потребитель видит только последующие публикации; дренаж — только после установки.
+        c.started = true;
+        if (isAvailable(c.sequence.get() + 1)) c.signal();
+        return c::unsubscribe;
+    }
+
+    @Override
+    public long cursor() {
+        return claim.get();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        long current = claim.get();
+        long used = current - minConsumerSequence(current);
+        return (int) Math.max(0L, slots.length - used);
+    }
+
+    private long minConsumerSequence(long current) {
+        long min = publishedUpTo(current);
+        Consumer[] cs = consumers;
+        for (int i = 0; i < cs.length; i++) {
+            min = Math.min(min, cs[i].sequence.get());
+        }
+        return min;
+    }
+
+    /**
+     * Все потребители дочитали опубликованные слоты и не дренируются.
+     */
+    boolean isIdle() {
+        for (Consumer c : consumers) {
+            if (c.scheduled.get() || isAvailable(c.sequence.get() + 1)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Недочитанные события потребителей — для отчёта EventBus.drain.
+     */
+    void leftovers(Map<String, Integer> out) {
+        long cursor = claim.get();
+        for (Consumer c : consumers) {
+            long n = cursor - c.sequence.get();
+            if (n > 0) out.put(c.id, (int) Math.min(Integer.MAX_VALUE, n));
+        }
+    }
+
+    void snapshot(Map<String, SubscriptionMetricsSnapshot> out) {
+        long cursor = claim.get();
+        String slotType = slots[0].getClass().getName();
+        for (Consumer c : consumers) {
+            out.put(c.id, SubscriptionMetricsSnapshot.builder()
+                    .id(c.id)
+                    .eventType(slotType)
+                    .active(c.active)
+                    .queueSize((int) Math.min(Integer.MAX_VALUE, Math.max(0L, cursor - c.sequence.get())))
+                    .queueCapacity(slots.length)
+                    .handled(c.handled.sum())
+                    .errors(c.errors.sum())
+                    .build());
+        }
+    }
+
+    /**
+     * Продвигает границу опубликованного по подряд опубликованным слотам; вызывается только
+     * при пересчёте минимума, поэтому просмотр амортизирован по публикациям.
+     */
+    private long publishedUpTo(long current) {
+        long from = published.get();
+        long to = from;
+        while (to < current && isAvailable(to + 1)) to++;
+        if (to > from) published.compareAndSet(from, to);
+        return to;
+    }
+
+    private void removeConsumer(Consumer c) {
+        synchronized (consumersLock) {
+            Consumer[] cs = consumers;
+            for (int i = 0; i < cs.length; i++) {
+                if (cs[i] != c) continue;
+                Consumer[] next = Arrays.copyOf(cs, cs.length - 1);
+                System.arraycopy(cs, i + 1, next, i, cs.length - i - 1);
+                consumers = next;
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer[] noConsumers() {
+        return (Consumer[]) new RingChannel<?>.Consumer[0];
+    }
+
+    private boolean isAvailable(long sequence) {
+        return available.get((int) (sequence & mask)) == (int) (sequence >>> shift);
+    }
+
+    /**
+     * Потребитель кольца: своя последовательность (последний обработанный слот) и свой дренаж.
+     */
+    private final class Consumer {
+        final String id;
+        final RingEventHandler<? super T> handler;
+        final AtomicLong sequence;
+        final LongAdder handled = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final Runnable drainTask = this::drain;
+        volatile boolean active = true;
+        // До установки начальной последовательности дренаж не запускается.
+        volatile boolean started;
+
+        Consumer(RingEventHandler<? super T> handler, long start) {
+            this.id = "ring:" + name + "#" + consumerIds.incrementAndGet();
+            this.handler = handler;
+            this.sequence = new AtomicLong(start);
+        }
+
+        void signal() {
+            if (!active || !started || !scheduled.compareAndSet(false, true)) return;
+            try {
+                executor.execute(drainTask);
+            } catch (RejectedExecutionException rex) {
+                scheduled.set(false);
+                if (LOG.isLoggable(Level.FINE)) {
+                    LOG.log(Level.FINE, "EventRing drain rejected for " + name, rex);
+                }
+            }
+        }
+
+        void unsubscribe() {
+            active = false;
+            // Больше не сдерживает производителей.
+            removeConsumer(this);
+        }
+
+        private void drain() {
+            try {
+                long next = sequence.get() + 1;
+                int budget = DRAIN_BATCH;
+                while (active && budget > 0 && isAvailable(next)) {
+                    long hi = next;
+                    long limit = next + budget - 1;
+                    while (hi < limit && isAvailable(hi + 1)) hi++;
+
+                    for (long s = next; s <= hi; s++) {
+                        try {
+                            handler.onEvent(get(s), s, s == hi);
+                        } catch (Throwable t) {
+                            errors.increment();
+                            if (LOG.isLoggable(Level.FINE)) {
+                                LOG.log(Level.FINE, "EventRing handler failed for " + name, t);
+                            }
+                        }
+                    }
+                    handled.add(hi - next + 1);
+                    // Слоты до hi включительно можно переиспользовать.
+                    sequence.set(hi);
+                    budget -= (int) (hi - next + 1);
+                    next = hi + 1;
+                }
+            } finally {
+                scheduled.set(false);
+                // Публикация могла прийти между последней проверкой и сбросом флага.
+                if (active && isAvailable(sequence.get() + 1)) signal();
+            }
+        }
+    }
+}
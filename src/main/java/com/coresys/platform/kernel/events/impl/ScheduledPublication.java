@@ -0,0 +1,104 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.EventBus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Отложенная или периодическая публикация: ScheduledPublication.
+ *
+ * Срабатывает через таймер шины на её executor-е (публикация может ждать места
+ * в очередях BLOCK). Период отсчитывается от предыдущего срока, а не от конца
+ * публикации; на таймере в каждый момент стоит не больше одной записи.
+ *
+ * @author Евгений Платонов
+ */
+
+final class ScheduledPublication implements EventBus.Scheduled, Runnable {
+
+    private static final Logger LOG = Logger.getLogger(DefaultEventBus.class.getName());
+
+    private static final int ACTIVE = 0;
+    private static final int CANCELLED = 1;
+    private static final int DONE = 2;
+
+    private final DefaultEventBus bus;
+    private final Supplier<?> supplier;
+    private final long periodNanos;
+    private final AtomicInteger state = new AtomicInteger(ACTIVE);
+
+    private volatile TimerWheel.Timeout timeout;
+    // Трогает только текущее срабатывание: следующее ставится после него.
+    private long dueNanos;
+
+    /**
+     * periodNanos ≤ 0 — разовая публикация.
+     */
+    ScheduledPublication(DefaultEventBus bus, Supplier<?> supplier, long periodNanos) {
+        this.bus = bus;
+        this.supplier = supplier;
+        this.periodNanos = periodNanos;
+    }
+
+    void start(long delayNanos) {
+        dueNanos = System.nanoTime() + delayNanos;
+        arm(delayNanos);
+    }
+
+    @Override
+    public void run() {
+        if (bus.isClosed()) {
+            state.compareAndSet(ACTIVE, DONE);
+            return;
+        }
+        if (periodNanos <= 0 ? !state.compareAndSet(ACTIVE, DONE) : state.get() != ACTIVE) return;
+
+        try {
+            Object event = supplier.get();
+            if (event != null) bus.publish(event);
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Scheduled event publication failed", e);
+        }
+        if (periodNanos <= 0) return;
+
+        long now = System.nanoTime();
+        long next = dueNanos + periodNanos;
+        long behind = now - next;
+        if (behind > 0) {
+            // Отстали больше чем на период: пропущенные сроки схлопываются в один.
+            next += behind / periodNanos * periodNanos;
+        }
+        dueNanos = next;
+        arm(next - now);
+    }
+
+    private void arm(long delayNanos) {
+        TimerWheel.Timeout t = bus.scheduleOnExecutor(this, delayNanos);
+        timeout = t;
+        // cancel() мог прийти между проверкой состояния и постановкой.
+        if (state.get() == CANCELLED) t.cancel();
+    }
+
+    @Override
+    public boolean cancel() {
+        if (!state.compareAndSet(ACTIVE, CANCELLED)) return false;
+        TimerWheel.Timeout t = timeout;
+        if (t != null) t.cancel();
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return state.get() == CANCELLED;
+    }
+}
@@ -0,0 +1,295 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.EventHandler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Исполняемый конвейер EventStream: StreamPipeline.
+ *
+ * Обработчик подписки, прогоняющий событие через цепочку стадий. Стадии и их
+ * состояние трогает только поток дренажа подписки. Временная стадия не заводит
+ * своих потоков: она ставит задачу на таймер шины, а задача кладёт в очередь подписки
+ * метку Tick; дренаж, встретив метку, вызывает onTick стадии. У стадии в каждый
+ * момент не больше одной ожидающей метки.
+ *
+ * @author Евгений Платонов
+ */
+
+final class StreamPipeline implements EventHandler<Object> {
+
+    // Очередь подписки заполнена — метка ждёт места с этим шагом.
+    private static final long TICK_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Служебная метка таймера в очереди подписки.
+     */
+    static final class Tick {
+        private final Stage stage;
+
+        Tick(Stage stage) {
+            this.stage = stage;
+        }
+
+        void fire() throws Exception {
+            stage.onTick();
+        }
+    }
+
+    abstract static class Stage {
+        private Stage next;
+        private StreamPipeline pipeline;
+
+        abstract void onEvent(Object event) throws Exception;
+
+        void onTick() throws Exception {
+        }
+
+        final void emit(Object event) throws Exception {
+            next.onEvent(event);
+        }
+
+        final void scheduleTick(Tick tick, long delayNanos) {
+            pipeline.schedule(tick, delayNanos);
+        }
+    }
+
+    private final DefaultEventBus bus;
+    private final Stage head;
+    private volatile EventSubscription<?> subscription;
+
+    StreamPipeline(DefaultEventBus bus, List<Stage> stages, Stage terminal) {
+        this.bus = bus;
+        Stage h = terminal;
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            Stage s = stages.get(i);
+            s.next = h;
+            h = s;
+        }
+        this.head = h;
+        for (Stage s = h; s != null; s = s.next) {
+            s.pipeline = this;
+        }
+    }
+
+    void attach(EventSubscription<?> subscription) {
+        this.subscription = subscription;
+    }
+
+    @Override
+    public void onEvent(Object event) throws Exception {
+        // Подписка на Object: метка проходит проверку типа и приходит сюда как событие.
+        if (event instanceof Tick) {
+            ((Tick) event).fire();
+            return;
+        }
+        head.onEvent(event);
+    }
+
+    private void schedule(Tick tick, long delayNanos) {
+        bus.schedule(() -> offerTick(tick), delayNanos);
+    }
+
+    private void offerTick(Tick tick) {
+        EventSubscription<?> s = subscription;
+        if (s.redeliver(tick)) return;
+        if (s.isActive()) schedule(tick, TICK_RETRY_NANOS);
+    }
+
+    // ---------------------------------------------------------------- стадии
+
+    static final class MapStage extends Stage {
+        private final Function<Object, ?> mapper;
+
+        @SuppressWarnings("unchecked")
+        MapStage(Function<?, ?> mapper) {
+            this.mapper = (Function<Object, ?>) mapper;
+        }
+
+        @Override
+        void onEvent(Object event) throws Exception {
+            Object out = mapper.apply(event);
+            if (out != null) emit(out);
+        }
+    }
+
+    static final class FilterStage extends Stage {
+        private final Predicate<Object> predicate;
+
+        @SuppressWarnings("unchecked")
+        FilterStage(Predicate<?> predicate) {
+            this.predicate = (Predicate<Object>) predicate;
+        }
+
+        @Override
+        void onEvent(Object event) throws Exception {
+            if (predicate.test(event)) emit(event);
+        }
+    }
+
+    static final class ThrottleStage extends Stage {
+        private final long intervalNanos;
+        private long lastEmitNanos;
+        private boolean emitted;
+
+        ThrottleStage(long intervalMillis) {
+            this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        }
+
+        @Override
+        void onEvent(Object event) throws Exception {
+            long now = System.nanoTime();
+            if (emitted && now - lastEmitNanos < intervalNanos) return;
+            emitted = true;
+            lastEmitNanos = now;
+            emit(event);
+        }
+    }
+
+    static final class DebounceStage extends Stage {
+        private final long quietNanos;
+        private final Tick tick = new Tick(this);
+        private Object last;
+        private long lastNanos;
+        private boolean armed;
+
+        DebounceStage(long quietMillis) {
+            this.quietNanos = TimeUnit.MILLISECONDS.toNanos(quietMillis);
+        }
+
+        @Override
+        void onEvent(Object event) {
+            last = event;
+            lastNanos = System.nanoTime();
+            // Метка не переставляется на каждое событие: сработав, она досчитает остаток тишины.
+            if (!armed) {
+                armed = true;
+                scheduleTick(tick, quietNanos);
+            }
+        }
+
+        @Override
+        void onTick() throws Exception {
+            long quiet = System.nanoTime() - lastNanos;
+            if (quiet < quietNanos) {
+                scheduleTick(tick, quietNanos - quiet);
+                return;
+            }
+            armed = false;
+            Object out = last;
+            last = null;
+            if (out != null) emit(out);
+        }
+    }
+
+    static final class TumblingWindowStage extends Stage {
+        private final long sizeNanos;
+        private final Tick tick = new Tick(this);
+        private List<Object> window = new ArrayList<>();
+
+        TumblingWindowStage(long sizeMillis) {
+            this.sizeNanos = TimeUnit.MILLISECONDS.toNanos(sizeMillis);
+        }
+
+        @Override
+        void onEvent(Object event) {
+            if (window.isEmpty()) scheduleTick(tick, sizeNanos);
+            window.add(event);
+        }
+
+        @Override
+        void onTick() throws Exception {
+            List<Object> out = window;
+            window = new ArrayList<>();
+            if (!out.isEmpty()) emit(Collections.unmodifiableList(out));
+        }
+    }
+
+    static final class SlidingWindowStage extends Stage {
+        private final long sizeNanos;
+        private final long slideNanos;
+        private final Tick tick = new Tick(this);
+        private final ArrayDeque<Object> events = new ArrayDeque<>();
+        private final ArrayDeque<Long> times = new ArrayDeque<>();
+        private boolean armed;
+
+        SlidingWindowStage(long sizeMillis, long slideMillis) {
+            this.sizeNanos = TimeUnit.MILLISECONDS.toNanos(sizeMillis);
+            this.slideNanos = TimeUnit.MILLISECONDS.toNanos(slideMillis);
+        }
+
+        @Override
+        void onEvent(Object event) {
+            events.addLast(event);
+            times.addLast(System.nanoTime());
+            if (!armed) {
+                armed = true;
+                scheduleTick(tick, slideNanos);
+            }
+        }
+
+        @Override
+        void onTick() throws Exception {
+            long from = System.nanoTime() - sizeNanos;
+            while (!times.isEmpty() && times.peekFirst() - from < 0) {
+                times.pollFirst();
+                events.pollFirst();
+            }
+            if (events.isEmpty()) {
+                // Окно опустело — таймер не крутится вхолостую до следующего события.
+                armed = false;
+                return;
+            }
+            scheduleTick(tick, slideNanos);
+            emit(Collections.unmodifiableList(new ArrayList<>(events)));
+        }
+    }
+
+    static final class ReduceByKeyStage extends Stage {
+        private final Function<Object, ?> keyFn;
+        private final BinaryOperator<Object> reducer;
+        private final Map<Object, Object> state = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        ReduceByKeyStage(Function<?, ?> keyFn, BinaryOperator<?> reducer) {
+            this.keyFn = (Function<Object, ?>) keyFn;
+            this.reducer = (BinaryOperator<Object>) reducer;
+        }
+
+        @Override
+        void onEvent(Object event) throws Exception {
+            Object out = state.merge(keyFn.apply(event), event, reducer);
+            if (out != null) emit(out);
+        }
+    }
+
+    static final class TerminalStage extends Stage {
+        private final EventHandler<Object> handler;
+
+        @SuppressWarnings("unchecked")
+        TerminalStage(EventHandler<?> handler) {
+            this.handler = (EventHandler<Object>) handler;
+        }
+
+        @Override
+        void onEvent(Object event) throws Exception {
+            handler.onEvent(event);
+        }
+    }
+}
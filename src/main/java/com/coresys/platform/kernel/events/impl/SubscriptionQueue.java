@@ -0,0 +1,59 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.QueueType;
+
+import java.util.Collection;
+
+/**
+ * Контракт: SubscriptionQueue.
+ *
+ * Внутренняя очередь подписки шины событий. Пишут в неё публикующие потоки,
+ * читает только дренаж подписки (в каждый момент времени — один поток).
+ * Вместе с событием хранится момент постановки в очередь.
+ *
+ * @author Евгений Платонов
+ */
+
+interface SubscriptionQueue {
+
+    /**
+     * enqueuedNanos — момент постановки (System.nanoTime) для метрики времени ожидания в очереди.
+     */
+    boolean offer(Object event, long enqueuedNanos);
+
+    void put(Object event, long enqueuedNanos) throws InterruptedException;
+
+    Object poll();
+
+    /**
+     * Момент постановки последнего события, полученного через poll(). Только для потребителя.
+     */
+    long polledEnqueuedNanos();
+
+    /**
+     * Переносит до maxEvents событий в sink; моменты их постановки — в enqueuedNanos (по порядку).
+     */
+    int drainTo(Collection<Object> sink, long[] enqueuedNanos, int maxEvents);
+
+    int size();
+
+    int capacity();
+
+    boolean isEmpty();
+
+    void clear();
+
+    static SubscriptionQueue create(QueueType type, int capacity) {
+        if (type == QueueType.MPSC_RING) {
+            return new MpscRingQueue(capacity);
+        }
+        return new BlockingSubscriptionQueue(capacity);
+    }
+}
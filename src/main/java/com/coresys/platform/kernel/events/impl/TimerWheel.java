@@ -0,0 +1,333 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Таймер шины событий: иерархическое колесо TimerWheel.
+ *
+ * Уровень 0 — 256 корзин по одному тику (TICK_NANOS), уровни 1..4 — по 64 корзины,
+ * корзина уровня k покрывает 256·64^(k-1) тиков; всего 2^32 тиков (~49 суток).
+ * Задача кладётся в уровень по удалённости срока и спускается вниз (cascade), когда
+ * уровень 0 делает оборот, — как в таймерах ядра Linux. Более дальние сроки
+ * ставятся в последнюю корзину верхнего уровня и перекладываются до своего.
+ *
+ * Постановка — offer в lock-free очередь, отмена — CAS состояния и offer в очередь
+ * отмен: поток таймера вынимает запись из корзины за O(1), поэтому отменённые
+ * таймауты не копятся до срока. Один поток-daemon создаётся лениво; пока задач
+ * нет — паркуется без срока, пока уровень 0 пуст — спит до ближайшего каскада.
+ *
+ * Задачи выполняются в потоке таймера и должны быть короткими (сигнал, complete и т.п.).
+ * Задача не срабатывает раньше срока; опоздание — до одного тика плюс планирование потока.
+ *
+ * @author Евгений Платонов
+ */
+
+final class TimerWheel {
+
+    private static final Logger LOG = Logger.getLogger(DefaultEventBus.class.getName());
+
+    private static final long TICK_NANOS = 1_000_000L;
+
+    private static final int ROOT_BITS = 8;
+    private static final int ROOT_SIZE = 1 << ROOT_BITS;
+    private static final int ROOT_MASK = ROOT_SIZE - 1;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final int LEVEL_MASK = LEVEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = (1L << (ROOT_BITS + LEVELS * LEVEL_BITS)) - 1;
+
+    private static final int WAITING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(Timeout.class, "state", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Отложенная задача; cancel() безопасен из любого потока.
+     */
+    static final class Timeout {
+        private final TimerWheel timer;
+        private final Runnable task;
+        private final long due;
+        private volatile int state;
+
+        // Связный список корзины; трогает только поток таймера.
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimerWheel timer, Runnable task, long due) {
+            this.timer = timer;
+            this.task = task;
+            this.due = due;
+        }
+
+        boolean cancel() {
+            if (!STATE.compareAndSet(this, WAITING, CANCELLED)) return false;
+            timer.cancelled.offer(this);
+            return true;
+        }
+
+        boolean isCancelled() {
+            return state == CANCELLED;
+        }
+    }
+
+    private static final class Bucket {
+        private final boolean root;
+        private Timeout head;
+        private Timeout tail;
+
+        Bucket(boolean root) {
+            this.root = root;
+        }
+
+        void add(Timeout t) {
+            t.bucket = this;
+            if (head == null) {
+                head = tail = t;
+            } else {
+                tail.next = t;
+                t.prev = tail;
+                tail = t;
+            }
+        }
+
+        void remove(Timeout t) {
+            if (t.prev != null) t.prev.next = t.next;
+            if (t.next != null) t.next.prev = t.prev;
+            if (t == head) head = t.next;
+            if (t == tail) tail = t.prev;
+            t.prev = t.next = null;
+            t.bucket = null;
+        }
+
+        /**
+         * Снимает весь список корзины; записи остаются связаны через next.
+         */
+        Timeout detach() {
+            Timeout h = head;
+            head = tail = null;
+            return h;
+        }
+    }
+
+    private final String threadName;
+    private final Bucket[] root = new Bucket[ROOT_SIZE];
+    private final Bucket[][] levels = new Bucket[LEVELS][LEVEL_SIZE];
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    // Задачи в incoming и в корзинах.
+    private final AtomicInteger size = new AtomicInteger();
+    private final long startNanos = System.nanoTime();
+
+    private volatile Thread worker;
+    private volatile boolean stopped;
+    // Поля ниже трогает только поток таймера.
+    private long tick;
+    private int rootCount;
+
+    TimerWheel(String threadName) {
+        this.threadName = threadName;
+        for (int i = 0; i < ROOT_SIZE; i++) {
+            root[i] = new Bucket(true);
+        }
+        for (int l = 0; l < LEVELS; l++) {
+            for (int i = 0; i < LEVEL_SIZE; i++) {
+                levels[l][i] = new Bucket(false);
+            }
+        }
+    }
+
+    Timeout schedule(Runnable task, long delayNanos) {
+        long deadline = System.nanoTime() - startNanos + Math.max(0L, delayNanos);
+        // Срок округляется вверх: тик t обрабатывается не раньше t·TICK_NANOS.
+        Timeout t = new Timeout(this, task, (deadline + TICK_NANOS - 1) / TICK_NANOS);
+        if (stopped) {
+            t.state = CANCELLED;
+            return t;
+        }
+        incoming.offer(t);
+        size.incrementAndGet();
+
+        Thread w = worker;
+        if (w == null) {
+            w = start();
+        }
+        LockSupport.unpark(w);
+        return t;
+    }
+
+    void stop() {
+        stopped = true;
+        Thread w = worker;
+        if (w != null) LockSupport.unpark(w);
+    }
+
+    private synchronized Thread start() {
+        Thread w = worker;
+        if (w == null) {
+            w = new Thread(this::run, threadName);
+            w.setDaemon(true);
+            worker = w;
+            w.start();
+        }
+        return w;
+    }
+
+    private void run() {
+        tick = currentTick();
+        while (!stopped) {
+            transferIncoming();
+            removeCancelled();
+
+            if (size.get() == 0) {
+                // Задач нет — спим до следующего schedule(); пропущенные тики пусты.
+                LockSupport.park(this);
+                tick = Math.max(tick, currentTick());
+                continue;
+            }
+
+            long now = currentTick();
+            if (tick <= now) {
+                advance();
+                continue;
+            }
+
+            // Уровень 0 пуст — до ближайшего каскада делать нечего.
+            long wakeTick = rootCount > 0 ? tick : (tick + ROOT_MASK) & ~(long) ROOT_MASK;
+            long sleep = wakeTick * TICK_NANOS - (System.nanoTime() - startNanos);
+            if (sleep > 0) {
+                // Новая задача или отмена разбудят раньше — они разбираются в начале цикла.
+                // Пропущенные пустые тики потом проходятся подряд: это дёшево.
+                LockSupport.parkNanos(this, sleep);
+            }
+        }
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - startNanos) / TICK_NANOS;
+    }
+
+    /**
+     * Обрабатывает тик tick: при обороте уровня 0 спускает корзины верхних уровней,
+     * затем выполняет корзину уровня 0.
+     */
+    private void advance() {
+        int index = (int) (tick & ROOT_MASK);
+        if (index == 0) {
+            for (int l = 0; l < LEVELS; l++) {
+                int slot = (int) ((tick >>> (ROOT_BITS + l * LEVEL_BITS)) & LEVEL_MASK);
+                cascade(levels[l][slot]);
+                if (slot != 0) break;
+            }
+        }
+        if (rootCount > 0) {
+            expire(root[index]);
+        }
+        tick++;
+    }
+
+    private void cascade(Bucket bucket) {
+        Timeout t = bucket.detach();
+        while (t != null) {
+            Timeout next = t.next;
+            t.prev = t.next = null;
+            place(t);
+            t = next;
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        Timeout t = bucket.detach();
+        while (t != null) {
+            Timeout next = t.next;
+            t.prev = t.next = null;
+            t.bucket = null;
+            rootCount--;
+            if (t.due > tick) {
+                // Запись из-за предела колеса: срок ещё не наступил.
+                place(t);
+            } else {
+                size.decrementAndGet();
+                if (STATE.compareAndSet(t, WAITING, EXPIRED)) {
+                    runTask(t.task);
+                }
+            }
+            t = next;
+        }
+    }
+
+    private void place(Timeout t) {
+        long delta = t.due - tick;
+        if (delta < ROOT_SIZE) {
+            // Просроченная задача уходит в текущую корзину и выполнится на этом тике.
+            root[(int) (Math.max(t.due, tick) & ROOT_MASK)].add(t);
+            rootCount++;
+            return;
+        }
+        long due = delta > MAX_SPAN ? tick + MAX_SPAN : t.due;
+        long span = due - tick;
+        int l = 0;
+        while (l < LEVELS - 1 && span >= 1L << (ROOT_BITS + (l + 1) * LEVEL_BITS)) {
+            l++;
+        }
+        levels[l][(int) ((due >>> (ROOT_BITS + l * LEVEL_BITS)) & LEVEL_MASK)].add(t);
+    }
+
+    private void transferIncoming() {
+        Timeout t;
+        while ((t = incoming.poll()) != null) {
+            if (t.isCancelled()) {
+                size.decrementAndGet();
+                continue;
+            }
+            place(t);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout t;
+        while ((t = cancelled.poll()) != null) {
+            Bucket b = t.bucket;
+            // bucket == null: запись ещё в incoming (её отбросит transferIncoming) или уже снята.
+            if (b == null) continue;
+            b.remove(t);
+            if (b.root) rootCount--;
+            size.decrementAndGet();
+        }
+    }
+
+    private static void runTask(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable e) {
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "EventBus timer task failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограничитель темпа подписки: TokenBucket.
+ *
+ * Ведро на burst разрешений, пополняемое со скоростью permitsPerSecond, в форме GCRA:
+ * всё состояние — одно «теоретическое время прибытия» tat. Взятие n разрешений сдвигает
+ * tat на n интервалов и разрешено, пока tat опережает текущее время не больше чем на
+ * burst интервалов. Один CAS на взятие, без блокировок и фоновых пополнений;
+ * безопасен при одновременном дренаже нескольких партиций.
+ *
+ * @author Евгений Платонов
+ */
+
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong tat;
+
+    TokenBucket(double permitsPerSecond, int burst) {
+        this.intervalNanos = Math.max(1L, Math.round(1_000_000_000.0 / permitsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.tat = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Берёт до max разрешений; возвращает, сколько взято (0 — разрешений нет).
+     */
+    int acquireUpTo(int max, long nowNanos) {
+        for (;;) {
+            long t = tat.get();
+            long base = t - nowNanos > 0 ? t : nowNanos;
+            long n = Math.min(max, (burstNanos - (base - nowNanos)) / intervalNanos);
+            if (n <= 0) return 0;
+            if (tat.compareAndSet(t, base + n * intervalNanos)) return (int) n;
+        }
+    }
+
+    /**
+     * Возвращает взятые, но не использованные разрешения.
+     */
+    void release(int permits) {
+        if (permits > 0) tat.addAndGet(-permits * intervalNanos);
+    }
+
+    /**
+     * Через сколько наносекунд появится следующее разрешение (0 — уже есть).
+     */
+    long nanosUntilPermit(long nowNanos) {
+        long t = tat.get();
+        long base = t - nowNanos > 0 ? t : nowNanos;
+        return Math.max(0L, base + intervalNanos - nowNanos - burstNanos);
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+/**
+ * Трассировка шины событий: TracedEvent.
+ *
+ * Отобранное для трассировки событие в очереди подписки вместе со своим участком трассы.
+ * Дренаж разворачивает его перед вызовом обработчика.
+ *
+ * @author Евгений Платонов
+ */
+
+final class TracedEvent {
+
+    final Object event;
+    final EventTracer.Span span;
+
+    TracedEvent(Object event, EventTracer.Span span) {
+        this.event = event;
+        this.span = span;
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.journal;
+
+/**
+ * Контракт: EventCodec.
+ *
+ * SPI сериализации событий для журнала. Реализации подключаются через
+ * META-INF/services/com.coresys.platform.kernel.events.journal.EventCodec
+ * или EventJournal.register(codec). id() пишется в каждую запись и должен быть
+ * стабилен между перезапусками; по умолчанию — имя класса события.
+ *
+ * @author Евгений Платонов
+ */
+
+public interface EventCodec<E> {
+
+    Class<E> eventType();
+
+    default String id() {
+        return eventType().getName();
+    }
+
+    byte[] encode(E event) throws Exception;
+
+    E decode(byte[] data) throws Exception;
+}
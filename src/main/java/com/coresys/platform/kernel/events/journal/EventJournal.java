@@ -0,0 +1,64 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.journal;
+
+/**
+ * Контракт: EventJournal.
+ *
+ * Журнал опубликованных событий: append-only лог из сегментов, отображённых в память.
+ * В журнал попадают события тех классов (точное совпадение), для которых есть кодек.
+ * Смещения монотонны и переживают перезапуск: подписчик запоминает смещение,
+ * возвращённое replay, и после рестарта продолжает с него.
+ *
+ * @author Евгений Платонов
+ */
+
+public interface EventJournal {
+
+    /**
+     * false — журнал не настроен (нет каталога) или не смог открыться; события не пишутся.
+     */
+    boolean isEnabled();
+
+    /**
+     * Включает журналирование eventType кодеком codec (заменяет прежний кодек типа).
+     */
+    void register(EventCodec<?> codec);
+
+    /**
+     * Прекращает журналирование типа; уже записанные события по-прежнему читаются.
+     */
+    boolean unregister(Class<?> eventType);
+
+    /**
+     * Смещение первой сохранённой записи.
+     */
+    long startOffset();
+
+    /**
+     * Смещение, с которого будет записано следующее событие.
+     */
+    long endOffset();
+
+    /**
+     * Синхронно читает записи от fromOffset до текущего конца журнала и возвращает
+     * смещение, с которого продолжать. Записи без известного кодека пропускаются.
+     */
+    long replay(long fromOffset, JournalHandler handler);
+
+    /**
+     * Сбрасывает отображённый активный сегмент на диск.
+     */
+    void flush();
+
+    /**
+     * Удаляет сегменты, целиком лежащие до offset (активный сегмент не удаляется).
+     * Возвращает число удалённых сегментов.
+     */
+    int truncateBefore(long offset);
+}
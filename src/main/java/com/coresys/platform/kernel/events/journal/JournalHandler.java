@@ -0,0 +1,20 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.journal;
+
+/**
+ * Контракт: JournalHandler.
+ *
+ * Получатель записей при EventJournal.replay; offset — смещение записи в журнале.
+ *
+ * @author Евгений Платонов
+ */
+@FunctionalInterface
+public interface JournalHandler {
+    void onEvent(long offset, Object event) throws Exception;
+}
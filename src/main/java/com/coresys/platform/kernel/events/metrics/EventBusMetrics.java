@@ -7,6 +7,8 @@
 
 package com.coresys.platform.kernel.events.metrics;
 
+import java.util.List;
+
 /**
  * Контракт: EventBusMetrics.
  *
@@ -17,5 +19,19 @@ package com.coresys.platform.kernel.events.metrics;
 
 public interface EventBusMetrics {
 
-    EventBusMetricsSnapshot snapshot();
+    default EventBusMetricsSnapshot snapshot() {
+        return snapshot(false);
+    }
+
+    /**
+     * resetWindow = true закрывает текущее окно гистограмм задержек: снимок содержит
+     * распределение за прошедшее окно, следующее окно начинается с нуля.
+     */
+    EventBusMetricsSnapshot snapshot(boolean resetWindow);
+
+    /**
+     * Последние завершённые трассы (EventBusOptions.traceSampleRate), от старых к новым.
+     * Пустой список, если трассировка выключена.
+     */
+    List<EventTrace> recentTraces();
 }
@@ -0,0 +1,73 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.metrics;
+
+import java.util.List;
+
+/**
+ * Снимок метрик: EventTrace.
+ *
+ * Завершённая трасса одной публикации: по участку на каждую подписку, которой было
+ * разослано событие. Трасса завершается, когда закрыты все участки.
+ *
+ * @author Евгений Платонов
+ */
+
+public final class EventTrace {
+
+    private final long traceId;
+    private final String eventType;
+    private final long publishEpochMillis;
+    private final long durationNanos;
+    private final List<TraceSpan> spans;
+
+    public EventTrace(long traceId, String eventType, long publishEpochMillis, long durationNanos,
+                      List<TraceSpan> spans) {
+        this.traceId = traceId;
+        this.eventType = eventType;
+        this.publishEpochMillis = publishEpochMillis;
+        this.durationNanos = Math.max(0, durationNanos);
+        this.spans = spans == null ? List.of() : List.copyOf(spans);
+    }
+
+    public long traceId() {
+        return traceId;
+    }
+
+    public String eventType() {
+        return eventType;
+    }
+
+    public long publishEpochMillis() {
+        return publishEpochMillis;
+    }
+
+    /**
+     * От публикации до закрытия последнего участка.
+     */
+    public long durationNanos() {
+        return durationNanos;
+    }
+
+    public List<TraceSpan> spans() {
+        return spans;
+    }
+
+    /**
+     * Участок, закрывшийся последним (узкое место fan-out); null, если участков нет.
+     */
+    public TraceSpan slowestSpan() {
+        TraceSpan slowest = null;
+        for (TraceSpan s : spans) {
+            if (s.handlerEndNanos() >= 0 && (slowest == null || s.handlerEndNanos() > slowest.handlerEndNanos())) {
+                slowest = s;
+            }
+        }
+        return slowest;
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.metrics;
+
+/**
+ * Снимок метрик: LatencySnapshot.
+ *
+ * Распределение задержек за окно наблюдения (с момента создания или последнего сброса окна).
+ * Перцентили приближённые (верхняя граница логарифмической корзины, погрешность ≤ 12.5%).
+ *
+ * @author Евгений Платонов
+ */
+
+public final class LatencySnapshot {
+
+    public static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0);
+
+    private final long count;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p90Millis;
+    private final double p99Millis;
+    private final double p999Millis;
+    private final double maxMillis;
+    private final long windowMillis;
+
+    public LatencySnapshot(
+            long count,
+            double meanMillis,
+            double p50Millis,
+            double p90Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis,
+            long windowMillis
+    ) {
+        this.count = Math.max(0, count);
+        this.meanMillis = Math.max(0.0, meanMillis);
+        this.p50Millis = Math.max(0.0, p50Millis);
+        this.p90Millis = Math.max(0.0, p90Millis);
+        this.p99Millis = Math.max(0.0, p99Millis);
+        this.p999Millis = Math.max(0.0, p999Millis);
+        this.maxMillis = Math.max(0.0, maxMillis);
+        this.windowMillis = Math.max(0, windowMillis);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double meanMillis() {
+        return meanMillis;
+    }
+
+    public double p50Millis() {
+        return p50Millis;
+    }
+
+    public double p90Millis() {
+        return p90Millis;
+    }
+
+    public double p99Millis() {
+        return p99Millis;
+    }
+
+    public double p999Millis() {
+        return p999Millis;
+    }
+
+    public double maxMillis() {
+        return maxMillis;
+    }
+
+    public long windowMillis() {
+        return windowMillis;
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.metrics;
+
+/**
+ * Снимок метрик: PartitionMetricsSnapshot.
+ *
+ * Иммутабельное состояние одной партиции подписки в конкретный момент времени.
+ *
+ * @author Евгений Платонов
+ */
+
+public final class PartitionMetricsSnapshot {
+
+    private final int index;
+    private final int queueSize;
+    private final int queueCapacity;
+    private final long handled;
+    private final long dropped;
+
+    public PartitionMetricsSnapshot(int index, int queueSize, int queueCapacity, long handled, long dropped) {
+        this.index = Math.max(0, index);
+        this.queueSize = Math.max(0, queueSize);
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.handled = Math.max(0, handled);
+        this.dropped = Math.max(0, dropped);
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public int queueSize() {
+        return queueSize;
+    }
+
+    public int queueCapacity() {
+        return queueCapacity;
+    }
+
+    public long handled() {
+        return handled;
+    }
+
+    public long dropped() {
+        return dropped;
+    }
+}
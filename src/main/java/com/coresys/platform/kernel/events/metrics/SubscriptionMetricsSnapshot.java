@@ -7,6 +7,8 @@
 
 package com.coresys.platform.kernel.events.metrics;
 
+import java.util.List;
+
 /**
  * Снимок конфигурации: SubscriptionMetricsSnapshot.
  *
@@ -27,6 +29,10 @@ public final class SubscriptionMetricsSnapshot {
     private final long handled;
     private final long errors;
     private final long dropped;
+    private final long deadLettered;
+    private final long conflated;
+    private final long filtered;
+    private final long throttled;
 
     private final double avgHandlerMillis;
     private final double maxHandlerMillis;
@@ -34,6 +40,15 @@ public final class SubscriptionMetricsSnapshot {
     private final boolean blacklisted;
     private final long blacklistRemainingMillis;
 
+    private final List<PartitionMetricsSnapshot> partitions;
+
+    private final LatencySnapshot handlerLatency;
+    private final LatencySnapshot queueWait;
+
+    /**
+     * @deprecated позиционная форма с числом полей на момент выпуска; используйте {@link #builder()}.
+     */
+    @Deprecated
     public SubscriptionMetricsSnapshot(
             String id,
             String eventType,
@@ -48,18 +63,88 @@ public final class SubscriptionMetricsSnapshot {
             boolean blacklisted,
             long blacklistRemainingMillis
     ) {
-        this.id = id == null ? "" : id;
-        this.eventType = eventType == null ? "" : eventType;
-        this.active = active;
-        this.queueSize = Math.max(0, queueSize);
-        this.queueCapacity = Math.max(0, queueCapacity);
-        this.handled = Math.max(0, handled);
-        this.errors = Math.max(0, errors);
-        this.dropped = Math.max(0, dropped);
-        this.avgHandlerMillis = Math.max(0.0, avgHandlerMillis);
-        this.maxHandlerMillis = Math.max(0.0, maxHandlerMillis);
-        this.blacklisted = blacklisted;
-        this.blacklistRemainingMillis = Math.max(0, blacklistRemainingMillis);
+        this(builder()
+                .id(id)
+                .eventType(eventType)
+                .active(active)
+                .queueSize(queueSize)
+                .queueCapacity(queueCapacity)
+                .handled(handled)
+                .errors(errors)
+                .dropped(dropped)
+                .avgHandlerMillis(avgHandlerMillis)
+                .maxHandlerMillis(maxHandlerMillis)
+                .blacklisted(blacklisted)
+                .blacklistRemainingMillis(blacklistRemainingMillis));
+    }
+
+    /**
+     * @deprecated позиционная форма со всеми полями; используйте {@link #builder()}.
+     */
+    @Deprecated
+    public SubscriptionMetricsSnapshot(
+            String id,
+            String eventType,
+            boolean active,
+            int queueSize,
+            int queueCapacity,
+            long handled,
+            long errors,
+            long dropped,
+            long deadLettered,
+            long conflated,
+            long filtered,
+            long throttled,
+            double avgHandlerMillis,
+            double maxHandlerMillis,
+            boolean blacklisted,
+            long blacklistRemainingMillis,
+            List<PartitionMetricsSnapshot> partitions,
+            LatencySnapshot handlerLatency,
+            LatencySnapshot queueWait
+    ) {
+        this(builder()
+                .id(id)
+                .eventType(eventType)
+                .active(active)
+                .queueSize(queueSize)
+                .queueCapacity(queueCapacity)
+                .handled(handled)
+                .errors(errors)
+                .dropped(dropped)
+                .deadLettered(deadLettered)
+                .conflated(conflated)
+                .filtered(filtered)
+                .throttled(throttled)
+                .avgHandlerMillis(avgHandlerMillis)
+                .maxHandlerMillis(maxHandlerMillis)
+                .blacklisted(blacklisted)
+                .blacklistRemainingMillis(blacklistRemainingMillis)
+                .partitions(partitions)
+                .handlerLatency(handlerLatency)
+                .queueWait(queueWait));
+    }
+
+    private SubscriptionMetricsSnapshot(Builder b) {
+        this.id = b.id == null ? "" : b.id;
+        this.eventType = b.eventType == null ? "" : b.eventType;
+        this.active = b.active;
+        this.queueSize = Math.max(0, b.queueSize);
+        this.queueCapacity = Math.max(0, b.queueCapacity);
+        this.handled = Math.max(0, b.handled);
+        this.errors = Math.max(0, b.errors);
+        this.dropped = Math.max(0, b.dropped);
+        this.deadLettered = Math.max(0, b.deadLettered);
+        this.conflated = Math.max(0, b.conflated);
+        this.filtered = Math.max(0, b.filtered);
+        this.throttled = Math.max(0, b.throttled);
+        this.avgHandlerMillis = Math.max(0.0, b.avgHandlerMillis);
+        this.maxHandlerMillis = Math.max(0.0, b.maxHandlerMillis);
+        this.blacklisted = b.blacklisted;
+        this.blacklistRemainingMillis = Math.max(0, b.blacklistRemainingMillis);
+        this.partitions = b.partitions == null ? List.of() : List.copyOf(b.partitions);
+        this.handlerLatency = b.handlerLatency == null ? LatencySnapshot.EMPTY : b.handlerLatency;
+        this.queueWait = b.queueWait == null ? LatencySnapshot.EMPTY : b.queueWait;
     }
 
     public String id() {
@@ -94,6 +179,26 @@ public final class SubscriptionMetricsSnapshot {
         return dropped;
     }
 
+    public long deadLettered() {
+        return deadLettered;
+    }
+
+    public long conflated() {
+        return conflated;
+    }
+
+    public long filtered() {
+        return filtered;
+    }
+
+    /**
+     * События, задержанные, отброшенные или слитые ограничителем темпа подписки;
+     * каждое событие учитывается один раз.
+     */
+    public long throttled() {
+        return throttled;
+    }
+
     public double avgHandlerMillis() {
         return avgHandlerMillis;
     }
@@ -109,4 +214,153 @@ public final class SubscriptionMetricsSnapshot {
     public long blacklistRemainingMillis() {
         return blacklistRemainingMillis;
     }
+
+    /**
+     * Метрики по партициям (пусто, если подписка не партиционирована).
+     */
+    public List<PartitionMetricsSnapshot> partitions() {
+        return partitions;
+    }
+
+    /**
+     * Время обработчика за текущее окно (для BatchEventHandler — на вызов, а не на событие).
+     */
+    public LatencySnapshot handlerLatency() {
+        return handlerLatency;
+    }
+
+    /**
+     * Время ожидания события в очереди подписки за текущее окно.
+     */
+    public LatencySnapshot queueWait() {
+        return queueWait;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Значения задаются по именам: полей много, и новые не ломают существующих вызывающих.
+     */
+    public static final class Builder {
+        private String id;
+        private String eventType;
+        private boolean active;
+        private int queueSize;
+        private int queueCapacity;
+        private long handled;
+        private long errors;
+        private long dropped;
+        private long deadLettered;
+        private long conflated;
+        private long filtered;
+        private long throttled;
+        private double avgHandlerMillis;
+        private double maxHandlerMillis;
+        private boolean blacklisted;
+        private long blacklistRemainingMillis;
+        private List<PartitionMetricsSnapshot> partitions;
+        private LatencySnapshot handlerLatency;
+        private LatencySnapshot queueWait;
+
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder eventType(String eventType) {
+            this.eventType = eventType;
+            return this;
+        }
+
+        public Builder active(boolean active) {
+            this.active = active;
+            return this;
+        }
+
+        public Builder queueSize(int queueSize) {
+            this.queueSize = queueSize;
+            return this;
+        }
+
+        public Builder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public Builder handled(long handled) {
+            this.handled = handled;
+            return this;
+        }
+
+        public Builder errors(long errors) {
+            this.errors = errors;
+            return this;
+        }
+
+        public Builder dropped(long dropped) {
+            this.dropped = dropped;
+            return this;
+        }
+
+        public Builder deadLettered(long deadLettered) {
+            this.deadLettered = deadLettered;
+            return this;
+        }
+
+        public Builder conflated(long conflated) {
+            this.conflated = conflated;
+            return this;
+        }
+
+        public Builder filtered(long filtered) {
+            this.filtered = filtered;
+            return this;
+        }
+
+        public Builder throttled(long throttled) {
+            this.throttled = throttled;
+            return this;
+        }
+
+        public Builder avgHandlerMillis(double avgHandlerMillis) {
+            this.avgHandlerMillis = avgHandlerMillis;
+            return this;
+        }
+
+        public Builder maxHandlerMillis(double maxHandlerMillis) {
+            this.maxHandlerMillis = maxHandlerMillis;
+            return this;
+        }
+
+        public Builder blacklisted(boolean blacklisted) {
+            this.blacklisted = blacklisted;
+            return this;
+        }
+
+        public Builder blacklistRemainingMillis(long blacklistRemainingMillis) {
+            this.blacklistRemainingMillis = blacklistRemainingMillis;
+            return this;
+        }
+
+        public Builder partitions(List<PartitionMetricsSnapshot> partitions) {
+            this.partitions = partitions;
+            return this;
+        }
+
+        public Builder handlerLatency(LatencySnapshot handlerLatency) {
+            this.handlerLatency = handlerLatency;
+            return this;
+        }
+
+        public Builder queueWait(LatencySnapshot queueWait) {
+            this.queueWait = queueWait;
+            return this;
+        }
+
+        public SubscriptionMetricsSnapshot build() {
+            return new SubscriptionMetricsSnapshot(this);
+        }
+    }
 }
@@ -0,0 +1,86 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.metrics;
+
+/**
+ * Снимок метрик: TraceSpan.
+ *
+ * Путь трассируемого события через одну подписку. Времена — наносекунды от публикации;
+ * -1, если этап не наступил (событие отброшено) или не отслеживался.
+ *
+ * @author Евгений Платонов
+ */
+
+public final class TraceSpan {
+
+    /**
+     * Перечисление: Outcome.
+     */
+    public enum Outcome {
+        /** Обработчик завершился успешно. */
+        HANDLED,
+        /** Обработчик бросил исключение или событие пропущено (чёрный список). */
+        FAILED,
+        /**
+         * Событие не попало в очередь подписки (переполнение, подписка закрыта), снято
+         * из очереди при отписке или осталось в ней после остановки шины.
+         */
+        DROPPED,
+        /** Событие поставлено в полосу со слиянием или ограничением темпа — дальше не отслеживается. */
+        UNTRACKED
+    }
+
+    private final String subscriptionId;
+    private final long enqueueNanos;
+    private final long dequeueNanos;
+    private final long handlerEndNanos;
+    private final Outcome outcome;
+
+    public TraceSpan(String subscriptionId, long enqueueNanos, long dequeueNanos, long handlerEndNanos,
+                     Outcome outcome) {
+        this.subscriptionId = subscriptionId;
+        this.enqueueNanos = enqueueNanos;
+        this.dequeueNanos = dequeueNanos;
+        this.handlerEndNanos = handlerEndNanos;
+        this.outcome = outcome;
+    }
+
+    public String subscriptionId() {
+        return subscriptionId;
+    }
+
+    public long enqueueNanos() {
+        return enqueueNanos;
+    }
+
+    public long dequeueNanos() {
+        return dequeueNanos;
+    }
+
+    public long handlerEndNanos() {
+        return handlerEndNanos;
+    }
+
+    public Outcome outcome() {
+        return outcome;
+    }
+
+    /**
+     * Время в очереди подписки; -1, если неизвестно.
+     */
+    public long queuedNanos() {
+        return enqueueNanos < 0 || dequeueNanos < 0 ? -1 : dequeueNanos - enqueueNanos;
+    }
+
+    /**
+     * Время работы обработчика; -1, если неизвестно.
+     */
+    public long handlerNanos() {
+        return dequeueNanos < 0 || handlerEndNanos < 0 ? -1 : handlerEndNanos - dequeueNanos;
+    }
+}
@@ -53,6 +53,16 @@ public final class DefaultKernelProps implements KernelProps {
 
         defaults.put("coresys.kernel.events.threads", "4");
         defaults.put("coresys.kernel.events.queue", "10000");
+        defaults.put("coresys.kernel.events.executor", "platform");
+        defaults.put("coresys.kernel.events.shutdown.drainMillis", "5000");
+        defaults.put("coresys.kernel.events.deadLetter.capacity", "10000");
+        defaults.put("coresys.kernel.events.deadLetter.spill", "false");
+        defaults.put("coresys.kernel.events.deadLetter.spillBacklog", "65536");
+        defaults.put("coresys.kernel.events.sticky.capacity", "256");
+        defaults.put("coresys.kernel.events.journal", "false");
+        defaults.put("coresys.kernel.events.journal.segmentBytes", "67108864");
+        defaults.put("coresys.kernel.events.trace.sampleRate", "0");
+        defaults.put("coresys.kernel.events.trace.capacity", "1024");
 
         return load(defaults);
     }
@@ -0,0 +1,87 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Пакетный обработчик: неполная пачка ждёт linger, полная уходит сразу, сброс при drain().
+ *
+ * @author Евгений Платонов
+ */
+
+public class BatchLingerTest {
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    private final List<Long> deliveredAt = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+        bus.subscribeBatch(Integer.class, events -> {
+            deliveredAt.add(System.nanoTime());
+            batches.add(new ArrayList<>(events));
+        }, SubscriptionOptions.builder()
+                .name("batch")
+                .maxBatchSize(50)
+                .maxLingerMillis(300)
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        bus.drain(1_000);
+        exec.shutdownNow();
+    }
+
+    @Test(timeout = 10_000)
+    public void partialBatchIsHeldForLingerAndDeliveredWhole() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) bus.publish(i);
+
+        while (batches.isEmpty()) Thread.sleep(5);
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(deliveredAt.get(0) - start);
+        assertTrue("delivered after " + waitedMillis + " ms", waitedMillis >= 250);
+        assertEquals(List.of(List.of(0, 1, 2, 3, 4)), batches);
+    }
+
+    @Test(timeout = 10_000)
+    public void fullBatchDoesNotWaitForLinger() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < 50; i++) bus.publish(i);
+
+        while (batches.isEmpty()) Thread.sleep(1);
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(deliveredAt.get(0) - start);
+        assertTrue("delivered after " + waitedMillis + " ms", waitedMillis < 250);
+        assertEquals(50, batches.get(0).size());
+    }
+
+    @Test(timeout = 10_000)
+    public void drainFlushesPartialBatchWithoutWaitingForLinger() {
+        for (int i = 0; i < 3; i++) bus.publish(i);
+        assertTrue(bus.drain(5_000).completed());
+        assertEquals(List.of(List.of(0, 1, 2)), batches);
+    }
+}
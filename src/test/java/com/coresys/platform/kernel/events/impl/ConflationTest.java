@@ -0,0 +1,119 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.OverflowPolicy;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+import com.coresys.platform.kernel.events.metrics.SubscriptionMetricsSnapshot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Политика переполнения CONFLATE: последнее значение ключа и учёт каждого события один раз.
+ *
+ * @author Евгений Платонов
+ */
+
+public class ConflationTest {
+
+    static final class Quote {
+        final int key;
+        final int value;
+
+        Quote(int key, int value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        bus.drain(1_000);
+        exec.shutdownNow();
+    }
+
+    private static SubscriptionOptions conflating(String name, int capacity) {
+        return SubscriptionOptions.builder()
+                .name(name)
+                .queueCapacity(capacity)
+                .overflowPolicy(OverflowPolicy.CONFLATE)
+                .conflationKey(e -> ((Quote) e).key)
+                .build();
+    }
+
+    @Test(timeout = 10_000)
+    public void slowSubscriberSeesLatestValuePerKey() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Map<Integer, Integer> last = new ConcurrentHashMap<>();
+        bus.subscribe(Quote.class, q -> {
+            release.await();
+            last.put(q.key, q.value);
+        }, conflating("quotes", 16));
+
+        for (int i = 0; i < 1_000; i++) {
+            bus.publish(new Quote(i % 4, i));
+        }
+        release.countDown();
+        assertTrue(bus.drain(5_000).completed());
+
+        for (int k = 0; k < 4; k++) {
+            assertEquals(Integer.valueOf(996 + k), last.get(k));
+        }
+        SubscriptionMetricsSnapshot m = bus.snapshot().subscriptions().get("quotes");
+        assertEquals(0, m.dropped());
+        assertEquals(1_000, m.handled() + m.conflated());
+    }
+
+    @Test(timeout = 20_000)
+    public void concurrentPublishersOverflowingKeysAccountForEveryEvent() throws Exception {
+        AtomicLong handled = new AtomicLong();
+        bus.subscribe(Quote.class, q -> {
+            handled.incrementAndGet();
+            Thread.sleep(0, 50_000);
+        }, conflating("keys", 8));
+
+        int producers = 4;
+        int perProducer = 20_000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) bus.publish(new Quote(i % 32, i));
+            });
+            threads[p].start();
+        }
+        for (Thread t : threads) t.join();
+        assertTrue(bus.drain(10_000).completed());
+
+        SubscriptionMetricsSnapshot m = bus.snapshot().subscriptions().get("keys");
+        assertTrue(m.dropped() > 0);
+        assertEquals(handled.get(), m.handled());
+        assertEquals((long) producers * perProducer, m.handled() + m.conflated() + m.dropped());
+        assertEquals(8, bus.remainingCapacity(Quote.class));
+    }
+}
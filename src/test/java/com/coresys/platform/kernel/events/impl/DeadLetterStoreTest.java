@@ -0,0 +1,124 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.DeadLetter;
+import com.coresys.platform.kernel.events.DeadLetterChannel;
+import com.coresys.platform.kernel.events.DeadLetterReason;
+import com.coresys.platform.kernel.events.EventBusOptions;
+import com.coresys.platform.kernel.events.OverflowPolicy;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Dead-letter канал: очередь записи на диск ограничена отдельно от кольца в памяти;
+ * replay идёт в порядке отказов и не зацикливается на повторных отказах.
+ *
+ * @author Евгений Платонов
+ */
+
+public class DeadLetterStoreTest {
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private final ExecutorService exec = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        exec.shutdownNow();
+    }
+
+    @Test(timeout = 10_000)
+    public void burstBeyondTheRingIsSpilledUpToTheBacklogAndTheRestCountedAsLost() throws Exception {
+        DefaultEventBus bus = new DefaultEventBus(exec, EventBusOptions.builder()
+                .deadLetterCapacity(10)
+                .deadLetterSpillDir(tmp.newFolder("dlq").toPath())
+                .deadLetterSpillBacklog(100)
+                .build());
+
+        // Единственный поток занят: вытеснение на диск пока не идёт.
+        CountDownLatch release = new CountDownLatch(1);
+        exec.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 500; i++) {
+            bus.deadLetters.add(new DeadLetter("sub", i, DeadLetterReason.OVERFLOW, null, i));
+        }
+        release.countDown();
+
+        while (bus.deadLetters.spilled() < 100) Thread.sleep(5);
+        assertEquals(10, bus.deadLetters.size());
+        assertEquals(100, bus.deadLetters.spilled());
+        assertEquals(390, bus.deadLetters.lost());
+    }
+
+    @Test(timeout = 10_000)
+    public void replayDeliversSpilledRecordsBeforeInMemoryOnesInFailureOrder() throws Exception {
+        DefaultEventBus bus = new DefaultEventBus(exec, EventBusOptions.builder()
+                .deadLetterCapacity(3)
+                .deadLetterSpillDir(tmp.newFolder("order").toPath())
+                .build());
+        List<Integer> got = new CopyOnWriteArrayList<>();
+        bus.subscribe(Integer.class, got::add, SubscriptionOptions.builder().name("sub").build());
+
+        for (int i = 0; i < 6; i++) {
+            bus.deadLetters.add(new DeadLetter("sub", i, DeadLetterReason.OVERFLOW, null, i));
+        }
+        while (bus.deadLetters.spilled() < 3) Thread.sleep(5);
+
+        DeadLetterChannel.Replay replay = bus.deadLetters.replay("sub", 10_000);
+        while (!replay.isDone()) Thread.sleep(5);
+        assertTrue(bus.drain(5_000).completed());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), got);
+        assertEquals(6, replay.replayed());
+    }
+
+    @Test(timeout = 10_000)
+    public void replayToAlwaysFailingHandlerFinishesAndKeepsTheNewFailures() throws Exception {
+        DefaultEventBus bus = new DefaultEventBus(exec, EventBusOptions.builder()
+                .deadLetterCapacity(100)
+                .build());
+        AtomicInteger attempts = new AtomicInteger();
+        bus.subscribe(Integer.class, e -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("always");
+        }, SubscriptionOptions.builder()
+                .name("failing")
+                .overflowPolicy(OverflowPolicy.DEAD_LETTER)
+                .build());
+
+        for (int i = 0; i < 5; i++) bus.publish(i);
+        while (bus.deadLetters.size() < 5) Thread.sleep(5);
+
+        DeadLetterChannel.Replay replay = bus.deadLetters.replay("failing", 10_000);
+        while (!replay.isDone()) Thread.sleep(5);
+        assertTrue(bus.drain(5_000).completed());
+        assertEquals(5, replay.replayed());
+        assertEquals(10, attempts.get());
+        assertEquals(5, bus.deadLetters.size());
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.EventBus;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Дренаж по требованию: подписок больше, чем потоков пула, и отписка останавливает доставку.
+ *
+ * @author Евгений Платонов
+ */
+
+public class DemandDrainTest {
+
+    private ThreadPoolExecutor exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = (ThreadPoolExecutor) Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        bus.drain(1_000);
+        exec.shutdownNow();
+    }
+
+    @Test(timeout = 10_000)
+    public void manySubscriptionsShareASmallPoolAndReturnItsThreads() throws Exception {
+        int subscriptions = 1_000;
+        AtomicInteger handled = new AtomicInteger();
+        for (int i = 0; i < subscriptions; i++) {
+            bus.subscribe(Integer.class, e -> handled.incrementAndGet(), null);
+        }
+        for (int i = 0; i < 10; i++) bus.publish(i);
+
+        while (handled.get() < subscriptions * 10) Thread.sleep(5);
+        // Очереди пусты — ни одна подписка не держит поток пула.
+        while (exec.getActiveCount() > 0) Thread.sleep(5);
+        assertEquals(0, exec.getQueue().size());
+    }
+
+    @Test(timeout = 10_000)
+    public void unsubscribedHandlerReceivesNothingFurther() throws Exception {
+        AtomicInteger kept = new AtomicInteger();
+        AtomicInteger removed = new AtomicInteger();
+        bus.subscribe(Integer.class, e -> kept.incrementAndGet(), null);
+        EventBus.Subscription sub = bus.subscribe(Integer.class, e -> removed.incrementAndGet(), null);
+
+        bus.publish(1);
+        while (kept.get() < 1 || removed.get() < 1) Thread.sleep(5);
+        sub.unsubscribe();
+
+        for (int i = 0; i < 100; i++) bus.publish(i);
+        assertTrue(bus.drain(5_000).completed());
+        assertEquals(101, kept.get());
+        assertEquals(1, removed.get());
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.DeadLetter;
+import com.coresys.platform.kernel.events.DeadLetterReason;
+import com.coresys.platform.kernel.events.DeliveryMode;
+import com.coresys.platform.kernel.events.OverflowPolicy;
+import com.coresys.platform.kernel.events.SlowHandlerPolicy;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+import com.coresys.platform.kernel.events.metrics.SubscriptionMetricsSnapshot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Доставка DIRECT: обработчик в публикующем потоке, учёт ошибок, пакеты и политика медленных обработчиков.
+ *
+ * @author Евгений Платонов
+ */
+
+public class DirectDeliveryTest {
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        bus.drain(1_000);
+        exec.shutdownNow();
+    }
+
+    private static SubscriptionOptions.Builder direct(String name) {
+        return SubscriptionOptions.builder().name(name).deliveryMode(DeliveryMode.DIRECT);
+    }
+
+    @Test(timeout = 10_000)
+    public void handlerRunsSynchronouslyOnThePublishingThread() {
+        List<Thread> threads = new ArrayList<>();
+        List<Integer> got = new ArrayList<>();
+        bus.subscribe(Integer.class, e -> {
+            threads.add(Thread.currentThread());
+            got.add(e);
+        }, direct("direct").queueCapacity(1).build());
+
+        for (int i = 0; i < 100; i++) {
+            bus.publish(i);
+            // Возврат из publish() означает, что обработчик уже отработал.
+            assertEquals(i + 1, got.size());
+        }
+        for (Thread t : threads) assertSame(Thread.currentThread(), t);
+
+        SubscriptionMetricsSnapshot m = bus.snapshot().subscriptions().get("direct");
+        assertEquals(100, m.handled());
+        assertEquals(0, m.dropped());
+        assertEquals(0, m.queueSize());
+        assertEquals(Integer.MAX_VALUE, bus.remainingCapacity(Integer.class));
+    }
+
+    @Test(timeout = 10_000)
+    public void handlerFailureIsCountedAndDeadLetteredWithoutReachingThePublisher() {
+        bus.subscribe(Integer.class, e -> {
+            if (e % 2 == 0) throw new IllegalStateException("even");
+        }, direct("failing").overflowPolicy(OverflowPolicy.DEAD_LETTER).build());
+
+        for (int i = 0; i < 10; i++) bus.publish(i);
+
+        SubscriptionMetricsSnapshot m = bus.snapshot().subscriptions().get("failing");
+        assertEquals(10, m.handled());
+        assertEquals(5, m.errors());
+        List<DeadLetter> letters = bus.deadLetters().snapshot("failing");
+        assertEquals(5, letters.size());
+        for (DeadLetter d : letters) {
+            assertEquals(DeadLetterReason.HANDLER_FAILED, d.reason());
+            assertEquals(0, (Integer) d.event() % 2);
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void batchPublishAndBatchHandlerDeliverOneEventPerCall() {
+        List<List<Integer>> calls = new CopyOnWriteArrayList<>();
+        bus.subscribeBatch(Integer.class, events -> calls.add(new ArrayList<>(events)),
+                direct("batch").maxBatchSize(16).build());
+
+        bus.publishBatch(List.of(1, 2, 3));
+        assertEquals(List.of(List.of(1), List.of(2), List.of(3)), calls);
+    }
+
+    @Test(timeout = 10_000)
+    public void slowHandlerPolicyAppliesToDirectSubscriptions() {
+        List<Integer> got = new ArrayList<>();
+        bus.subscribe(Integer.class, e -> {
+            got.add(e);
+            Thread.sleep(20);
+        }, direct("slow").slowHandlerThresholdMillis(5).slowHandlerPolicy(SlowHandlerPolicy.DISABLE).build());
+
+        bus.publish(1);
+        bus.publish(2);
+
+        assertEquals(List.of(1), got);
+        assertNull(bus.snapshot().subscriptions().get("slow"));
+        assertTrue(bus.drain(1_000).completed());
+    }
+}
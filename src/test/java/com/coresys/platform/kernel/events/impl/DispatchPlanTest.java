@@ -0,0 +1,138 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.EventBus;
+import com.coresys.platform.kernel.events.OverflowPolicy;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Планы доставки: подписки на супертипы и интерфейсы, сброс кэша при подписке и отписке.
+ *
+ * @author Евгений Платонов
+ */
+
+public class DispatchPlanTest {
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        bus.drain(1_000);
+        exec.shutdownNow();
+    }
+
+    private static void awaitSize(List<?> list, int n) throws InterruptedException {
+        while (list.size() < n) Thread.sleep(2);
+    }
+
+    @Test(timeout = 10_000)
+    public void planCoversSupertypesAndInterfaces() throws Exception {
+        List<Object> integers = new CopyOnWriteArrayList<>();
+        List<Object> numbers = new CopyOnWriteArrayList<>();
+        List<Object> comparables = new CopyOnWriteArrayList<>();
+        List<Object> objects = new CopyOnWriteArrayList<>();
+        List<Object> strings = new CopyOnWriteArrayList<>();
+        bus.subscribe(Integer.class, integers::add, null);
+        bus.subscribe(Number.class, numbers::add, null);
+        bus.subscribe(Comparable.class, comparables::add, null);
+        bus.subscribe(Object.class, objects::add, null);
+        bus.subscribe(String.class, strings::add, null);
+
+        bus.publish(1);
+        bus.publish(2L);
+        assertTrue(bus.drain(5_000).completed());
+
+        assertEquals(List.of(1), integers);
+        assertEquals(List.of(1, 2L), numbers);
+        assertEquals(List.of(1, 2L), comparables);
+        assertEquals(List.of(1, 2L), objects);
+        assertTrue(strings.isEmpty());
+    }
+
+    @Test(timeout = 10_000)
+    public void subscriptionAddedAfterPlanIsCachedReceivesNextPublish() throws Exception {
+        List<Object> numbers = new CopyOnWriteArrayList<>();
+        bus.subscribe(Number.class, numbers::add, null);
+        bus.publish(1);
+        awaitSize(numbers, 1);
+
+        // План для Integer уже построен: подписка на супертип и на сам класс должна его сбросить.
+        List<Object> objects = new CopyOnWriteArrayList<>();
+        List<Object> integers = new CopyOnWriteArrayList<>();
+        bus.subscribe(Object.class, objects::add, null);
+        bus.subscribe(Integer.class, integers::add, null);
+        bus.publish(2);
+        assertTrue(bus.drain(5_000).completed());
+
+        assertEquals(List.of(1, 2), numbers);
+        assertEquals(List.of(2), objects);
+        assertEquals(List.of(2), integers);
+    }
+
+    @Test(timeout = 10_000)
+    public void unsubscribedSubscriptionLeavesCachedPlan() throws Exception {
+        List<Object> kept = new CopyOnWriteArrayList<>();
+        List<Object> removed = new CopyOnWriteArrayList<>();
+        bus.subscribe(Integer.class, kept::add, null);
+        EventBus.Subscription sub = bus.subscribe(Number.class, removed::add, null);
+        bus.publish(1);
+        awaitSize(removed, 1);
+
+        sub.unsubscribe();
+        bus.publish(2);
+        assertTrue(bus.drain(5_000).completed());
+
+        assertEquals(List.of(1, 2), kept);
+        assertEquals(List.of(1), removed);
+    }
+
+    @Test(timeout = 10_000)
+    public void everyPublishAfterSubscribeReturnsReachesTheNewSubscription() throws Exception {
+        SubscriptionOptions blocking = SubscriptionOptions.builder().overflowPolicy(OverflowPolicy.BLOCK).build();
+        AtomicInteger first = new AtomicInteger();
+        bus.subscribe(Integer.class, e -> first.incrementAndGet(), blocking);
+        Thread publisher = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) bus.publish(i);
+        });
+        publisher.start();
+
+        // Подписка посреди потока публикаций: устаревший план не должен пережить register().
+        AtomicBoolean marker = new AtomicBoolean();
+        bus.subscribe(Number.class, e -> {
+            if (e.intValue() == -1) marker.set(true);
+        }, blocking);
+        bus.publish(-1);
+        publisher.join();
+        assertTrue(bus.drain(5_000).completed());
+
+        assertTrue(marker.get());
+        assertEquals(20_001, first.get());
+    }
+}
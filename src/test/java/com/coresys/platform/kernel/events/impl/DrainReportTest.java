@@ -0,0 +1,140 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.DrainReport;
+import com.coresys.platform.kernel.events.PublishOutcome;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Остановка шины: отчёт drain() при Flow-подписчиках с исчерпанным спросом.
+ *
+ * @author Евгений Платонов
+ */
+
+public class DrainReportTest {
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        exec.shutdownNow();
+    }
+
+    @Test(timeout = 10_000)
+    public void drainCompletesWhenAllQueuesEmpty() throws Exception {
+        List<Integer> got = new CopyOnWriteArrayList<>();
+        bus.subscribe(Integer.class, got::add, null);
+        for (int i = 0; i < 100; i++) bus.publish(i);
+
+        DrainReport report = bus.drain(5_000);
+        assertTrue(report.completed());
+        assertTrue(report.leftovers().isEmpty());
+        assertEquals(100, got.size());
+    }
+
+    @Test(timeout = 10_000)
+    public void flowSubscriberWithoutDemandIsReportedWithoutWaiting() throws Exception {
+        CountDownLatch firstTwo = new CountDownLatch(2);
+        bus.publisher(Integer.class, SubscriptionOptions.builder().name("reactive").build())
+                .subscribe(new Flow.Subscriber<Integer>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscription.request(2);
+                    }
+
+                    @Override
+                    public void onNext(Integer item) {
+                        firstTwo.countDown();
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+        for (int i = 0; i < 10; i++) bus.publish(i);
+        assertTrue(firstTwo.await(5, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        DrainReport report = bus.drain(3_000);
+        long tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertFalse(report.completed());
+        assertEquals(Integer.valueOf(8), report.leftovers().get("reactive"));
+        assertTrue("drain waited " + tookMillis + " ms", tookMillis < 1_000);
+    }
+
+    @Test(timeout = 10_000)
+    public void pendingRequestFailsWhenBusIsDrained() throws Exception {
+        CountDownLatch received = new CountDownLatch(1);
+        // Подписчик получает запрос, но не отвечает.
+        bus.subscribe(Integer.class, e -> received.countDown(), null);
+        CompletableFuture<String> reply = bus.request(42, String.class, 60_000);
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        assertFalse(reply.isDone());
+
+        bus.drain(1_000);
+        try {
+            reply.get(5, TimeUnit.SECONDS);
+            fail("request must not stay pending after drain");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals("EventBus is closed", e.getCause().getMessage());
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void tryPublishOnClosedBusIsDistinguishableFromNoSubscribers() throws Exception {
+        PublishOutcome none = bus.tryPublish("nobody listens");
+        assertFalse(none.isRejected());
+        assertTrue(none.isFullyDelivered());
+
+        List<Integer> got = new CopyOnWriteArrayList<>();
+        bus.subscribe(Integer.class, got::add, null);
+        assertTrue(bus.drain(5_000).completed());
+
+        PublishOutcome closed = bus.tryPublish(1);
+        assertSame(PublishOutcome.CLOSED, closed);
+        assertTrue(closed.isRejected());
+        assertFalse(closed.isFullyDelivered());
+        assertEquals(0, closed.delivered());
+        assertTrue(got.isEmpty());
+        assertEquals(1, bus.drain(0).rejected());
+    }
+}
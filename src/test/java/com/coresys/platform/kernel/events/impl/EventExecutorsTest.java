@@ -0,0 +1,102 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.ExecutorMode;
+import com.coresys.platform.kernel.props.DefaultKernelProps;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Executor шины: разбор coresys.kernel.events.executor и откат на платформенный пул.
+ *
+ * @author Евгений Платонов
+ */
+
+public class EventExecutorsTest {
+
+    @Test
+    public void modeIsParsedCaseInsensitively() {
+        assertEquals(ExecutorMode.VIRTUAL, EventExecutors.parseMode("virtual"));
+        assertEquals(ExecutorMode.AUTO, EventExecutors.parseMode(" Auto "));
+        assertEquals(ExecutorMode.PLATFORM, EventExecutors.parseMode("PLATFORM"));
+    }
+
+    @Test
+    public void missingOrUnknownModeFallsBackToPlatform() {
+        assertEquals(ExecutorMode.PLATFORM, EventExecutors.parseMode(null));
+        assertEquals(ExecutorMode.PLATFORM, EventExecutors.parseMode("  "));
+        assertEquals(ExecutorMode.PLATFORM, EventExecutors.parseMode("loom"));
+    }
+
+    @Test
+    public void kernelDefaultIsPlatform() {
+        String value = DefaultKernelProps.loadDefaults().getString("coresys.kernel.events.executor", null);
+        assertEquals(ExecutorMode.PLATFORM, EventExecutors.parseMode(value));
+    }
+
+    @Test(timeout = 10_000)
+    public void platformModeUsesBoundedDaemonPool() throws Exception {
+        ExecutorService exec = EventExecutors.create(ExecutorMode.PLATFORM, 3, 7);
+        try {
+            assertTrue(exec instanceof ThreadPoolExecutor);
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) exec;
+            assertEquals(3, pool.getCorePoolSize());
+            assertEquals(3, pool.getMaximumPoolSize());
+            assertEquals(7, pool.getQueue().remainingCapacity());
+            assertTrue(pool.getRejectedExecutionHandler() instanceof ThreadPoolExecutor.CallerRunsPolicy);
+
+            Future<Thread> worker = exec.submit(Thread::currentThread);
+            Thread t = worker.get(5, TimeUnit.SECONDS);
+            assertTrue(t.isDaemon());
+            assertTrue(t.getName().startsWith("coresys-events-"));
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void nullModeIsPlatform() {
+        ExecutorService exec = EventExecutors.create(null, 2, 4);
+        try {
+            assertTrue(exec instanceof ThreadPoolExecutor);
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void virtualAndAutoModesDependOnTheRuntime() throws Exception {
+        for (ExecutorMode mode : new ExecutorMode[]{ExecutorMode.VIRTUAL, ExecutorMode.AUTO}) {
+            ExecutorService exec = EventExecutors.create(mode, 2, 4);
+            try {
+                Thread t = exec.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+                assertTrue(t.getName().startsWith("coresys-events-"));
+                if (EventExecutors.virtualThreadsAvailable()) {
+                    // Поток на задачу, без пула и его ограничений.
+                    assertFalse(mode + " must not use the platform pool", exec instanceof ThreadPoolExecutor);
+                    assertTrue(t.getName().startsWith("coresys-events-v-"));
+                } else {
+                    assertTrue(mode + " must fall back to the platform pool", exec instanceof ThreadPoolExecutor);
+                    assertEquals(2, ((ThreadPoolExecutor) exec).getCorePoolSize());
+                }
+            } finally {
+                exec.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+import com.coresys.platform.kernel.events.metrics.SubscriptionMetricsSnapshot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Конвейер EventStream: debounce, окна, свёртка по ключу, публикация обратно в шину
+ * и метки таймера вне метрик обработки.
+ *
+ * @author Евгений Платонов
+ */
+
+public class EventStreamTest {
+
+    static final class Sale {
+        final String shop;
+        final int amount;
+
+        Sale(String shop, int amount) {
+            this.shop = shop;
+            this.amount = amount;
+        }
+    }
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        bus.drain(1_000);
+        exec.shutdownNow();
+    }
+
+    private static SubscriptionOptions named(String name) {
+        return SubscriptionOptions.builder().name(name).build();
+    }
+
+    private static void awaitSize(List<?> list, int size) throws InterruptedException {
+        while (list.size() < size) Thread.sleep(5);
+    }
+
+    @Test(timeout = 10_000)
+    public void debounceEmitsOnlyTheLastValueOfABurst() throws Exception {
+        List<Integer> got = new CopyOnWriteArrayList<>();
+        bus.stream(Integer.class, named("debounce")).debounce(150).to(got::add);
+
+        for (int i = 1; i <= 5; i++) bus.publish(i);
+        awaitSize(got, 1);
+        Thread.sleep(300);
+        assertEquals(List.of(5), got);
+    }
+
+    @Test(timeout = 10_000)
+    public void tumblingWindowsDoNotOverlap() throws Exception {
+        List<List<Integer>> windows = new CopyOnWriteArrayList<>();
+        bus.stream(Integer.class, named("tumbling")).window(200).to(windows::add);
+
+        for (int i = 1; i <= 3; i++) bus.publish(i);
+        awaitSize(windows, 1);
+        bus.publish(4);
+        bus.publish(5);
+        awaitSize(windows, 2);
+        Thread.sleep(300);
+        assertEquals(List.of(List.of(1, 2, 3), List.of(4, 5)), windows);
+    }
+
+    @Test(timeout = 10_000)
+    public void slidingWindowsOverlapAndStopWhenTheWindowEmpties() throws Exception {
+        List<List<Integer>> windows = new CopyOnWriteArrayList<>();
+        bus.stream(Integer.class, named("sliding")).window(600, 200).to(windows::add);
+
+        bus.publish(1);
+        awaitSize(windows, 1);
+        bus.publish(2);
+        // Событие 1 выпадает через 600 мс, 2 — ещё через ~200; потом окно пустеет.
+        Thread.sleep(1_500);
+        int emitted = windows.size();
+        Thread.sleep(500);
+        assertEquals("sliding window keeps ticking on an empty window", emitted, windows.size());
+
+        assertEquals(List.of(1), windows.get(0));
+        assertTrue(windows.toString(), windows.contains(List.of(1, 2)));
+        assertEquals(List.of(2), windows.get(windows.size() - 1));
+        long withOne = windows.stream().filter(w -> w.contains(1)).count();
+        assertTrue("event 1 must be in several windows: " + windows, withOne > 1);
+    }
+
+    @Test(timeout = 10_000)
+    public void reduceByKeyEmitsTheRunningValuePerKey() throws Exception {
+        List<String> got = new CopyOnWriteArrayList<>();
+        bus.stream(Sale.class, named("reduce"))
+                .reduceByKey(s -> s.shop, (a, b) -> new Sale(a.shop, a.amount + b.amount))
+                .map(s -> s.shop + "=" + s.amount)
+                .to(got::add);
+
+        bus.publish(new Sale("a", 1));
+        bus.publish(new Sale("b", 10));
+        bus.publish(new Sale("a", 2));
+        bus.publish(new Sale("a", 3));
+        bus.publish(new Sale("b", 5));
+        assertTrue(bus.drain(5_000).completed());
+        assertEquals(List.of("a=1", "b=10", "a=3", "a=6", "b=15"), got);
+    }
+
+    @Test(timeout = 10_000)
+    public void publishFeedsTheResultBackIntoTheBus() throws Exception {
+        List<String> derived = new CopyOnWriteArrayList<>();
+        bus.subscribe(String.class, derived::add, null);
+        bus.stream(Integer.class, named("derive"))
+                .filter(i -> i % 2 == 0)
+                .map(i -> "even-" + i)
+                .publish();
+
+        for (int i = 0; i < 6; i++) bus.publish(i);
+        awaitSize(derived, 3);
+        assertEquals(List.of("even-0", "even-2", "even-4"), derived);
+        assertEquals(9, bus.snapshot().publishedTotal());
+    }
+
+    @Test(timeout = 10_000)
+    public void timerTicksAreNotCountedAsHandledEvents() throws Exception {
+        List<List<Integer>> windows = new CopyOnWriteArrayList<>();
+        bus.stream(Integer.class, named("ticks")).window(50).to(windows::add);
+
+        for (int round = 0; round < 3; round++) {
+            bus.publish(round);
+            awaitSize(windows, round + 1);
+        }
+        assertTrue(bus.drain(5_000).completed());
+        SubscriptionMetricsSnapshot m = bus.snapshot().subscriptions().get("ticks");
+        assertEquals(3, m.handled());
+        assertFalse(windows.isEmpty());
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.EventBus;
+import com.coresys.platform.kernel.events.EventBusOptions;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+import com.coresys.platform.kernel.events.metrics.EventTrace;
+import com.coresys.platform.kernel.events.metrics.TraceSpan;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Трассировка: отбор событий, жизненный цикл участков и ёмкость кольца трасс.
+ *
+ * @author Евгений Платонов
+ */
+
+public class EventTracerTest {
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        if (bus != null) bus.drain(1_000);
+        exec.shutdownNow();
+    }
+
+    private DefaultEventBus bus(double sampleRate, int capacity) {
+        bus = new DefaultEventBus(exec, EventBusOptions.builder()
+                .traceSampleRate(sampleRate)
+                .traceCapacity(capacity)
+                .build());
+        return bus;
+    }
+
+    private static SubscriptionOptions named(String name) {
+        return SubscriptionOptions.builder().name(name).build();
+    }
+
+    private static List<EventTrace> awaitTraces(DefaultEventBus bus, int n) throws InterruptedException {
+        List<EventTrace> traces = bus.recentTraces();
+        while (traces.size() < n) {
+            Thread.sleep(5);
+            traces = bus.recentTraces();
+        }
+        return traces;
+    }
+
+    @Test(timeout = 10_000)
+    public void zeroRateDisablesTracing() throws Exception {
+        DefaultEventBus b = bus(0.0, 16);
+        CountDownLatch done = new CountDownLatch(10);
+        b.subscribe(Integer.class, e -> done.countDown(), named("sub"));
+        for (int i = 0; i < 10; i++) b.publish(i);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(b.tracing());
+        assertTrue(b.recentTraces().isEmpty());
+    }
+
+    @Test(timeout = 10_000)
+    public void fullRateTracesEveryPublish() throws Exception {
+        DefaultEventBus b = bus(1.0, 64);
+        b.subscribe(Integer.class, e -> { }, named("sub"));
+        for (int i = 0; i < 20; i++) b.publish(i);
+
+        List<EventTrace> traces = awaitTraces(b, 20);
+        assertEquals(20, traces.size());
+        for (int i = 1; i < traces.size(); i++) {
+            assertTrue(traces.get(i).traceId() > traces.get(i - 1).traceId());
+        }
+    }
+
+    @Test(timeout = 20_000)
+    public void partialRateSamplesRoughlyThatShare() throws Exception {
+        DefaultEventBus b = bus(0.5, 4096);
+        b.subscribe(Integer.class, e -> { }, named("sub"));
+        for (int i = 0; i < 2000; i++) b.publish(i);
+
+        assertTrue(b.drain(10_000).completed());
+        int traced = b.recentTraces().size();
+        assertTrue("traced " + traced, traced > 700 && traced < 1300);
+    }
+
+    @Test(timeout = 10_000)
+    public void spanCoversEveryFanOutSubscription() throws Exception {
+        DefaultEventBus b = bus(1.0, 16);
+        b.subscribe(Integer.class, e -> { }, named("ok"));
+        b.subscribe(Integer.class, e -> {
+            throw new IllegalStateException("boom");
+        }, named("failing"));
+        b.publish(1);
+
+        EventTrace trace = awaitTraces(b, 1).get(0);
+        assertEquals(Integer.class.getName(), trace.eventType());
+        assertEquals(2, trace.spans().size());
+        for (TraceSpan span : trace.spans()) {
+            TraceSpan.Outcome expected = span.subscriptionId().equals("ok")
+                    ? TraceSpan.Outcome.HANDLED : TraceSpan.Outcome.FAILED;
+            assertEquals(expected, span.outcome());
+            assertTrue(span.enqueueNanos() >= 0);
+            assertTrue(span.dequeueNanos() >= span.enqueueNanos());
+            assertTrue(span.handlerEndNanos() >= span.dequeueNanos());
+        }
+        assertTrue(trace.durationNanos() >= trace.slowestSpan().handlerEndNanos());
+    }
+
+    @Test(timeout = 10_000)
+    public void ringKeepsOnlyLastCapacityTraces() throws Exception {
+        DefaultEventBus b = bus(1.0, 8);
+        b.subscribe(Integer.class, e -> { }, named("sub"));
+        for (int i = 0; i < 50; i++) b.publish(i);
+
+        assertTrue(b.drain(5_000).completed());
+        List<EventTrace> traces = b.recentTraces();
+        assertEquals(8, traces.size());
+        assertEquals(50, traces.get(7).traceId());
+        assertEquals(43, traces.get(0).traceId());
+    }
+
+    @Test(timeout = 10_000)
+    public void eventsClearedOnUnsubscribeFinishAsDropped() throws Exception {
+        DefaultEventBus b = bus(1.0, 16);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EventBus.Subscription sub = b.subscribe(Integer.class, e -> {
+            entered.countDown();
+            release.await();
+        }, named("slow"));
+        for (int i = 0; i < 4; i++) b.publish(i);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        sub.unsubscribe();
+        release.countDown();
+
+        List<EventTrace> traces = awaitTraces(b, 4);
+        assertEquals(TraceSpan.Outcome.HANDLED, traces.get(0).spans().get(0).outcome());
+        for (int i = 1; i < 4; i++) {
+            TraceSpan span = traces.get(i).spans().get(0);
+            assertEquals(TraceSpan.Outcome.DROPPED, span.outcome());
+            assertEquals(-1, span.dequeueNanos());
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void eventsLeftQueuedAtDrainFinishAsDropped() throws Exception {
+        DefaultEventBus b = bus(1.0, 16);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        b.subscribe(Integer.class, e -> {
+            entered.countDown();
+            release.await();
+        }, named("slow"));
+        for (int i = 0; i < 4; i++) b.publish(i);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertFalse(b.drain(100).completed());
+            // Событие в обработчике ещё открыто, три в очереди уже закрыты.
+            List<EventTrace> traces = awaitTraces(b, 3);
+            assertEquals(3, traces.size());
+            for (EventTrace trace : traces) {
+                assertEquals(TraceSpan.Outcome.DROPPED, trace.spans().get(0).outcome());
+            }
+        } finally {
+            release.countDown();
+        }
+        List<EventTrace> traces = awaitTraces(b, 4);
+        assertEquals(TraceSpan.Outcome.HANDLED, traces.get(3).spans().get(0).outcome());
+    }
+}
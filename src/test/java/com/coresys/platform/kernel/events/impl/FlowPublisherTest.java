@@ -0,0 +1,186 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.DrainReport;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Flow-адаптер: сигналы подписчику последовательны, нарушения протокола снимают подписку.
+ *
+ * @author Евгений Платонов
+ */
+
+public class FlowPublisherTest {
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        bus.drain(1_000);
+        exec.shutdownNow();
+    }
+
+    /**
+     * Подписчик, запоминающий сигналы; onNext может ждать разрешения.
+     */
+    private static class Recorder implements Flow.Subscriber<Integer> {
+        final AtomicInteger nexts = new AtomicInteger();
+        final AtomicBoolean inOnNext = new AtomicBoolean();
+        final AtomicBoolean overlapped = new AtomicBoolean();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final AtomicReference<Thread> errorThread = new AtomicReference<>();
+        final CountDownLatch errored = new CountDownLatch(1);
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        private final long initialDemand;
+
+        Recorder(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialDemand);
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            inOnNext.set(true);
+            nexts.incrementAndGet();
+            entered.countDown();
+            try {
+                proceed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inOnNext.set(false);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (inOnNext.get()) overlapped.set(true);
+            errorThread.set(Thread.currentThread());
+            error.set(throwable);
+            errored.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    private static SubscriptionOptions named(String name) {
+        return SubscriptionOptions.builder().name(name).build();
+    }
+
+    @Test(timeout = 10_000)
+    public void invalidRequestErrorWaitsForRunningOnNext() throws Exception {
+        Recorder r = new Recorder(5);
+        bus.publisher(Integer.class, named("flow")).subscribe(r);
+        bus.publish(1);
+        bus.publish(2);
+        assertTrue(r.entered.await(5, TimeUnit.SECONDS));
+
+        r.subscription.request(0);
+        // onNext ещё идёт: ошибка не может прийти параллельно с ним.
+        assertFalse(r.errored.await(100, TimeUnit.MILLISECONDS));
+        r.proceed.countDown();
+
+        assertTrue(r.errored.await(5, TimeUnit.SECONDS));
+        assertTrue(r.error.get() instanceof IllegalArgumentException);
+        assertFalse(r.overlapped.get());
+        assertNotSame(Thread.currentThread(), r.errorThread.get());
+        // Второе событие уже не доставляется: подписка снята вместе с ошибкой.
+        assertEquals(1, r.nexts.get());
+        assertNull(bus.snapshot().subscriptions().get("flow"));
+    }
+
+    @Test(timeout = 10_000)
+    public void invalidRequestWithoutDemandIsSignalledOffTheCallerThread() throws Exception {
+        Recorder r = new Recorder(1);
+        bus.publisher(Integer.class, named("idle")).subscribe(r);
+
+        r.subscription.request(-1);
+        assertTrue(r.errored.await(5, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), r.errorThread.get());
+        assertNull(bus.snapshot().subscriptions().get("idle"));
+    }
+
+    @Test(timeout = 10_000)
+    public void requestAfterCancelIsIgnored() throws Exception {
+        Recorder r = new Recorder(1);
+        bus.publisher(Integer.class, named("cancelled")).subscribe(r);
+
+        r.subscription.cancel();
+        r.subscription.request(0);
+        bus.publish(1);
+
+        assertFalse(r.errored.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(0, r.nexts.get());
+    }
+
+    @Test(timeout = 10_000)
+    public void throwingOnNextCancelsTheSubscription() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        bus.publisher(Integer.class, named("throwing")).subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                calls.incrementAndGet();
+                throw new IllegalStateException("broken subscriber");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        for (int i = 0; i < 10; i++) bus.publish(i);
+
+        DrainReport report = bus.drain(5_000);
+        assertTrue(report.toString(), report.completed());
+        assertEquals(1, calls.get());
+        assertNull(bus.snapshot().subscriptions().get("throwing"));
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+import com.coresys.platform.kernel.events.metrics.LatencySnapshot;
+import com.coresys.platform.kernel.events.metrics.SubscriptionMetricsSnapshot;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Гистограмма задержек: границы корзин, перцентили и окно метрик подписки.
+ *
+ * @author Евгений Платонов
+ */
+
+public class LatencyHistogramTest {
+
+    // Ширина под-корзины — 1/8 степени двойки: оценка перцентиля завышена не более чем на 12.5%.
+    private static final double BUCKET_ERROR = 0.125;
+
+    private static void assertWithinBucket(double expectedMillis, double actualMillis) {
+        assertTrue(expectedMillis + " vs " + actualMillis,
+                actualMillis >= expectedMillis && actualMillis <= expectedMillis * (1 + BUCKET_ERROR));
+    }
+
+    @Test
+    public void emptyHistogramReportsZeros() {
+        LatencySnapshot s = new LatencyHistogram().snapshot();
+        assertEquals(0, s.count());
+        assertEquals(0.0, s.p99Millis(), 0.0);
+        assertEquals(0.0, s.maxMillis(), 0.0);
+    }
+
+    @Test
+    public void everyValueFallsInsideItsBucket() {
+        for (long v = 0; v < 1L << 40; v = v < 64 ? v + 1 : v + v / 7) {
+            int i = LatencyHistogram.indexOf(v);
+            assertTrue("v=" + v, LatencyHistogram.lowerBound(i) <= v && v <= LatencyHistogram.upperBound(i));
+            if (v >= 8) {
+                long width = LatencyHistogram.upperBound(i) - LatencyHistogram.lowerBound(i) + 1;
+                assertTrue("v=" + v, width <= LatencyHistogram.lowerBound(i) * BUCKET_ERROR);
+            }
+        }
+        // Соседние корзины стыкуются без дыр.
+        for (int i = 0; i < 200; i++) {
+            assertEquals(LatencyHistogram.upperBound(i) + 1, LatencyHistogram.lowerBound(i + 1));
+        }
+    }
+
+    @Test
+    public void percentilesOfUniformValues() {
+        LatencyHistogram h = new LatencyHistogram();
+        // 1..1000 мкс по одному разу.
+        for (int i = 1; i <= 1000; i++) h.record(i * 1_000L);
+
+        LatencySnapshot s = h.snapshot();
+        assertEquals(1000, s.count());
+        assertEquals(0.5005, s.meanMillis(), 1e-9);
+        assertEquals(1.0, s.maxMillis(), 0.0);
+        assertWithinBucket(0.5, s.p50Millis());
+        assertWithinBucket(0.9, s.p90Millis());
+        assertWithinBucket(0.99, s.p99Millis());
+        assertTrue(s.p999Millis() <= s.maxMillis());
+    }
+
+    @Test
+    public void percentilesNeverExceedTheRecordedMaximum() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 0; i < 100; i++) h.record(1_000_000L);
+
+        LatencySnapshot s = h.snapshot();
+        assertEquals(1.0, s.p50Millis(), 0.0);
+        assertEquals(1.0, s.p999Millis(), 0.0);
+        assertEquals(1.0, s.maxMillis(), 0.0);
+    }
+
+    @Test
+    public void tailIsVisibleInHighPercentilesOnly() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 0; i < 990; i++) h.record(100_000L);
+        for (int i = 0; i < 10; i++) h.record(50_000_000L);
+
+        LatencySnapshot s = h.snapshot();
+        assertWithinBucket(0.1, s.p50Millis());
+        assertWithinBucket(0.1, s.p99Millis());
+        assertEquals(50.0, s.p999Millis(), 0.0);
+        assertEquals(50.0, s.maxMillis(), 0.0);
+    }
+
+    @Test
+    public void negativeAndHugeValuesAreClamped() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(-5);
+        h.record(Long.MAX_VALUE);
+
+        LatencySnapshot s = h.snapshot();
+        assertEquals(2, s.count());
+        assertEquals(Long.MAX_VALUE / 1_000_000.0, s.maxMillis(), 1.0);
+        assertEquals(0.0, h.snapshot().p50Millis(), 0.0);
+    }
+
+    @Test(timeout = 10_000)
+    public void subscriptionWindowIsResetOnRequest() throws Exception {
+        ExecutorService exec = Executors.newFixedThreadPool(2);
+        DefaultEventBus bus = new DefaultEventBus(exec);
+        try {
+            bus.subscribe(Integer.class, e -> Thread.sleep(2), SubscriptionOptions.builder().name("timed").build());
+            for (int i = 0; i < 5; i++) bus.publish(i);
+            while (bus.snapshot().subscriptions().get("timed").handled() < 5) Thread.sleep(2);
+
+            SubscriptionMetricsSnapshot m = bus.snapshot(true).subscriptions().get("timed");
+            assertEquals(5, m.handlerLatency().count());
+            assertEquals(5, m.queueWait().count());
+            assertTrue(m.handlerLatency().p50Millis() >= 2.0);
+            assertTrue(m.handlerLatency().maxMillis() >= m.handlerLatency().p99Millis());
+
+            // Новое окно начато — старые значения в него не попадают.
+            SubscriptionMetricsSnapshot next = bus.snapshot().subscriptions().get("timed");
+            assertEquals(0, next.handlerLatency().count());
+            assertEquals(0, next.queueWait().count());
+            assertEquals(5, next.handled());
+        } finally {
+            bus.drain(1_000);
+            exec.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.journal.EventCodec;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Журнал событий: восстановление после недописанного хвоста и закрытие.
+ *
+ * @author Евгений Платонов
+ */
+
+public class MappedEventJournalTest {
+
+    private static final EventCodec<String> CODEC = new EventCodec<String>() {
+        @Override
+        public Class<String> eventType() {
+            return String.class;
+        }
+
+        @Override
+        public byte[] encode(String event) {
+            return event.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] data) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+    };
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private static MappedEventJournal open(Path dir) {
+        MappedEventJournal journal = new MappedEventJournal(dir, 4096);
+        assertTrue(journal.isEnabled());
+        journal.register(CODEC);
+        return journal;
+    }
+
+    private static List<Object> replayAll(MappedEventJournal journal) {
+        List<Object> out = new ArrayList<>();
+        journal.replay(0L, (offset, event) -> out.add(event));
+        return out;
+    }
+
+    @Test
+    public void tornTailIsDiscardedOnReopen() throws Exception {
+        Path dir = tmp.newFolder("journal").toPath();
+        MappedEventJournal journal = open(dir);
+        journal.append("a");
+        journal.append("b");
+        long end = journal.endOffset();
+        journal.close();
+
+        // Сбой посреди записи: длина уже записана, CRC и тело — нет.
+        Path segment = dir.resolve(String.format("journal-%020d.log", 0L));
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(12);
+            torn.putInt(20).putInt(0xDEADBEEF).putShort((short) 6).putShort((short) 0x6a61);
+            torn.flip();
+            ch.write(torn, end);
+        }
+
+        MappedEventJournal reopened = open(dir);
+        assertEquals(end, reopened.endOffset());
+        assertEquals(List.of("a", "b"), replayAll(reopened));
+
+        reopened.append("c");
+        assertEquals(List.of("a", "b", "c"), replayAll(reopened));
+        reopened.close();
+    }
+
+    @Test
+    public void closedJournalStopsAppendingButStillReplays() throws Exception {
+        MappedEventJournal journal = open(tmp.newFolder("closed").toPath());
+        assertTrue(journal.append("a") >= 0);
+        journal.close();
+
+        assertFalse(journal.isEnabled());
+        assertEquals(-1L, journal.append("b"));
+        assertEquals(List.of("a"), replayAll(journal));
+    }
+}
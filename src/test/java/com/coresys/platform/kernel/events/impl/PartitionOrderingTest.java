@@ -0,0 +1,164 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.OverflowPolicy;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+import com.coresys.platform.kernel.events.metrics.PartitionMetricsSnapshot;
+import com.coresys.platform.kernel.events.metrics.SubscriptionMetricsSnapshot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Партиции подписки: порядок событий одного ключа и независимость партиций друг от друга.
+ *
+ * @author Евгений Платонов
+ */
+
+public class PartitionOrderingTest {
+
+    static final class Keyed {
+        final Integer key;
+        final int seq;
+
+        Keyed(Integer key, int seq) {
+            this.key = key;
+            this.seq = seq;
+        }
+    }
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        bus.drain(1_000);
+        exec.shutdownNow();
+    }
+
+    private static SubscriptionOptions partitioned(String name, int partitions) {
+        return SubscriptionOptions.builder()
+                .name(name)
+                .partitions(partitions, e -> ((Keyed) e).key)
+                .overflowPolicy(OverflowPolicy.BLOCK)
+                .build();
+    }
+
+    @Test(timeout = 20_000)
+    public void eventsOfOneKeyAreHandledInPublishOrder() throws Exception {
+        int keys = 16;
+        int perKey = 2_000;
+        Map<Integer, Integer> lastSeq = new ConcurrentHashMap<>();
+        AtomicInteger outOfOrder = new AtomicInteger();
+        bus.subscribe(Keyed.class, e -> {
+            Integer prev = lastSeq.put(e.key, e.seq);
+            if (prev != null && e.seq != prev + 1) outOfOrder.incrementAndGet();
+        }, partitioned("ordered", 4));
+
+        Thread[] publishers = new Thread[2];
+        for (int p = 0; p < publishers.length; p++) {
+            int first = p * keys / publishers.length;
+            publishers[p] = new Thread(() -> {
+                for (int s = 0; s < perKey; s++) {
+                    for (int k = first; k < first + keys / publishers.length; k++) bus.publish(new Keyed(k, s));
+                }
+            });
+            publishers[p].start();
+        }
+        for (Thread t : publishers) t.join();
+        assertTrue(bus.drain(10_000).completed());
+
+        assertEquals(0, outOfOrder.get());
+        assertEquals(keys, lastSeq.size());
+        for (int seq : lastSeq.values()) assertEquals(perKey - 1, seq);
+
+        SubscriptionMetricsSnapshot m = bus.snapshot().subscriptions().get("ordered");
+        assertEquals(keys * perKey, m.handled());
+        List<PartitionMetricsSnapshot> parts = m.partitions();
+        assertEquals(4, parts.size());
+        long sum = 0;
+        for (PartitionMetricsSnapshot p : parts) {
+            // 16 последовательных целых ключей раскладываются по 4 партициям поровну.
+            assertEquals(keys / 4 * perKey, p.handled());
+            sum += p.handled();
+        }
+        assertEquals(m.handled(), sum);
+    }
+
+    @Test(timeout = 10_000)
+    public void blockedKeyDoesNotHoldBackOtherPartitions() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> others = new ArrayList<>();
+        bus.subscribe(Keyed.class, e -> {
+            if (e.key == 0) {
+                entered.countDown();
+                release.await();
+                return;
+            }
+            synchronized (others) {
+                others.add(e.key);
+            }
+        }, partitioned("independent", 4));
+
+        bus.publish(new Keyed(0, 0));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        for (int k = 1; k < 4; k++) {
+            for (int s = 0; s < 10; s++) bus.publish(new Keyed(k, s));
+        }
+        bus.publish(new Keyed(0, 1));
+
+        try {
+            // Ключи 1..3 живут в других партициях и доставляются, пока ключ 0 занят.
+            while (true) {
+                synchronized (others) {
+                    if (others.size() == 30) break;
+                }
+                Thread.sleep(2);
+            }
+            SubscriptionMetricsSnapshot m = bus.snapshot().subscriptions().get("independent");
+            assertEquals(1, m.partitions().get(0).queueSize());
+        } finally {
+            release.countDown();
+        }
+        assertTrue(bus.drain(5_000).completed());
+        assertEquals(32, bus.snapshot().subscriptions().get("independent").handled());
+    }
+
+    @Test(timeout = 10_000)
+    public void nullKeyGoesToTheFirstPartition() throws Exception {
+        bus.subscribe(Keyed.class, e -> { }, partitioned("nulls", 4));
+        for (int s = 0; s < 5; s++) bus.publish(new Keyed(null, s));
+        assertTrue(bus.drain(5_000).completed());
+
+        List<PartitionMetricsSnapshot> parts = bus.snapshot().subscriptions().get("nulls").partitions();
+        assertEquals(5, parts.get(0).handled());
+        for (int i = 1; i < parts.size(); i++) assertEquals(0, parts.get(i).handled());
+    }
+}
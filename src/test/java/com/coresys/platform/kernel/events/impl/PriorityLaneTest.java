@@ -0,0 +1,83 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.EventPriority;
+import com.coresys.platform.kernel.events.OverflowPolicy;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Полосы приоритетов: старшая полоса обгоняет младшую, но не дольше starvationLimit подряд.
+ *
+ * @author Евгений Платонов
+ */
+
+public class PriorityLaneTest {
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        bus.drain(1_000);
+        exec.shutdownNow();
+    }
+
+    @Test(timeout = 10_000)
+    public void higherLaneGoesFirstButLowerLaneIsNotStarved() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        bus.subscribe(String.class, e -> {
+            if (e.equals("gate")) {
+                started.countDown();
+                release.await();
+                return;
+            }
+            order.add(e);
+        }, SubscriptionOptions.builder()
+                .name("lanes")
+                .lane(EventPriority.HIGH, 1_000, OverflowPolicy.BLOCK)
+                .starvationLimit(3)
+                .build());
+
+        // Дренаж занят первым событием, остальные копятся по полосам.
+        bus.publish("gate");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) bus.publish("n" + i, EventPriority.NORMAL);
+        for (int i = 0; i < 12; i++) bus.publish("h" + i, EventPriority.HIGH);
+        release.countDown();
+        assertTrue(bus.drain(5_000).completed());
+
+        assertEquals(List.of(
+                "h0", "h1", "h2", "n0",
+                "h3", "h4", "h5", "n1",
+                "h6", "h7", "h8", "n2",
+                "h9", "h10", "h11", "n3"), order);
+    }
+}
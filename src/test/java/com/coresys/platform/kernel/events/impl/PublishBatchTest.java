@@ -0,0 +1,137 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.OverflowPolicy;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+import com.coresys.platform.kernel.events.metrics.SubscriptionMetricsSnapshot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Пакетная публикация: один сигнал дренажу на пачку; переполнение полосы посреди пачки
+ * решает политика подписки (DROP, DEAD_LETTER, BLOCK), а не гонка с дренажом.
+ *
+ * @author Евгений Платонов
+ */
+
+public class PublishBatchTest {
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        exec.shutdownNow();
+    }
+
+    private static List<Integer> events(int n) {
+        List<Integer> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(i);
+        return out;
+    }
+
+    @Test(timeout = 10_000)
+    public void batchWithinCapacityIsDeliveredInOrder() throws Exception {
+        List<Integer> got = new ArrayList<>();
+        bus.subscribe(Integer.class, got::add, SubscriptionOptions.builder().queueCapacity(1_000).build());
+        bus.publishBatch(events(1_000));
+        assertTrue(bus.drain(5_000).completed());
+        assertEquals(events(1_000), got);
+    }
+
+    @Test(timeout = 10_000)
+    public void overflowInTheMiddleOfABatchFollowsTheLanePolicy() throws Exception {
+        CountDownLatch entered = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        for (OverflowPolicy policy : new OverflowPolicy[]{OverflowPolicy.DROP, OverflowPolicy.DEAD_LETTER}) {
+            bus.subscribe(Integer.class, e -> {
+                if (e < 0) {
+                    entered.countDown();
+                    release.await();
+                }
+            }, SubscriptionOptions.builder().name(policy.name()).queueCapacity(100).overflowPolicy(policy).build());
+        }
+        // Обработчики заняты, очереди пусты: пачка упирается ровно в ёмкость полосы.
+        bus.publish(-1);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        bus.publishBatch(events(1_000));
+
+        Map<String, Integer> capacity = new HashMap<>();
+        for (OverflowPolicy policy : new OverflowPolicy[]{OverflowPolicy.DROP, OverflowPolicy.DEAD_LETTER}) {
+            SubscriptionMetricsSnapshot m = bus.snapshot().subscriptions().get(policy.name());
+            capacity.put(policy.name(), m.queueCapacity());
+            assertEquals(m.queueCapacity(), m.queueSize());
+            assertEquals(1_000 - m.queueCapacity(), m.dropped());
+        }
+        assertEquals(1_000 - capacity.get(OverflowPolicy.DEAD_LETTER.name()), bus.deadLetters().size());
+
+        release.countDown();
+        assertTrue(bus.drain(5_000).completed());
+        for (OverflowPolicy policy : new OverflowPolicy[]{OverflowPolicy.DROP, OverflowPolicy.DEAD_LETTER}) {
+            SubscriptionMetricsSnapshot m = bus.snapshot().subscriptions().get(policy.name());
+            assertEquals(1 + capacity.get(policy.name()), m.handled());
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void blockPolicyWaitsForRoomInsteadOfDropping() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> got = new CopyOnWriteArrayList<>();
+        bus.subscribe(Integer.class, e -> {
+            if (e < 0) {
+                entered.countDown();
+                release.await();
+                return;
+            }
+            got.add(e);
+        }, SubscriptionOptions.builder().name("block").queueCapacity(100).overflowPolicy(OverflowPolicy.BLOCK).build());
+        bus.publish(-1);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        Thread publisher = new Thread(() -> bus.publishBatch(events(1_000)));
+        publisher.start();
+        SubscriptionMetricsSnapshot m = bus.snapshot().subscriptions().get("block");
+        while (m.queueSize() < m.queueCapacity()) {
+            Thread.sleep(5);
+            m = bus.snapshot().subscriptions().get("block");
+        }
+        // Полоса заполнена, обработчик занят: публикующий ждёт, ничего не отброшено.
+        Thread.sleep(100);
+        assertTrue(publisher.isAlive());
+        assertEquals(0, bus.snapshot().subscriptions().get("block").dropped());
+
+        release.countDown();
+        publisher.join(5_000);
+        assertTrue(bus.drain(5_000).completed());
+        assertEquals(events(1_000), got);
+        assertEquals(0, bus.snapshot().subscriptions().get("block").dropped());
+    }
+}
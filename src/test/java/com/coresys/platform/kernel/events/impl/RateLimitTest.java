@@ -0,0 +1,157 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.DeliveryMode;
+import com.coresys.platform.kernel.events.EventBus;
+import com.coresys.platform.kernel.events.PublishOutcome;
+import com.coresys.platform.kernel.events.RateLimitAction;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+import com.coresys.platform.kernel.events.metrics.SubscriptionMetricsSnapshot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Ограничение темпа подписки: слияние при CONFLATE, учёт задержанных событий при DELAY
+ * и отказ DIRECT-подписки в tryPublish.
+ *
+ * @author Евгений Платонов
+ */
+
+public class RateLimitTest {
+
+    static final class Tick {
+        final int key;
+        final int value;
+
+        Tick(int key, int value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        bus.drain(1_000);
+        exec.shutdownNow();
+    }
+
+    private SubscriptionMetricsSnapshot metrics(String name) {
+        return bus.snapshot().subscriptions().get(name);
+    }
+
+    @Test(timeout = 10_000)
+    public void conflateDeliversLatestValueInsteadOfDroppingIt() throws Exception {
+        AtomicInteger last = new AtomicInteger(-1);
+        bus.subscribe(Tick.class, e -> last.set(e.value), SubscriptionOptions.builder()
+                .name("conflate")
+                .queueCapacity(16)
+                .conflationKey(e -> ((Tick) e).key)
+                .rateLimit(100, 10, RateLimitAction.CONFLATE)
+                .build());
+
+        int total = 200_000;
+        for (int i = 0; i < total; i++) {
+            bus.publish(new Tick(0, i));
+        }
+        while (last.get() != total - 1) {
+            Thread.sleep(10);
+        }
+        SubscriptionMetricsSnapshot m = metrics("conflate");
+        assertEquals(0, m.dropped());
+        assertTrue(m.throttled() > 0);
+    }
+
+    @Test(timeout = 10_000)
+    public void conflateQueueIsBoundedByCapacityForManyKeys() throws Exception {
+        bus.subscribe(Tick.class, e -> { }, SubscriptionOptions.builder()
+                .name("keys")
+                .queueCapacity(16)
+                .conflationKey(e -> ((Tick) e).key)
+                .rateLimit(10, 1, RateLimitAction.CONFLATE)
+                .build());
+        bus.subscribe(Tick.class, e -> { }, SubscriptionOptions.builder()
+                .name("nullKeys")
+                .queueCapacity(16)
+                .conflationKey(e -> null)
+                .rateLimit(10, 1, RateLimitAction.CONFLATE)
+                .build());
+
+        for (int i = 0; i < 1_000; i++) {
+            bus.publish(new Tick(i, i));
+            assertTrue(metrics("keys").queueSize() <= 16);
+            assertTrue(metrics("nullKeys").queueSize() <= 16);
+        }
+        assertTrue(metrics("keys").dropped() > 0);
+        assertTrue(metrics("nullKeys").dropped() > 0);
+    }
+
+    @Test(timeout = 10_000)
+    public void delayCountsEveryHeldEventOnce() throws Exception {
+        Map<Integer, Boolean> seen = new ConcurrentHashMap<>();
+        EventBus.Subscription sub = bus.subscribe(Tick.class, e -> seen.put(e.value, true), SubscriptionOptions.builder()
+                .name("delay")
+                .rateLimit(200, 5, RateLimitAction.DELAY)
+                .build());
+
+        int total = 100;
+        for (int i = 0; i < total; i++) {
+            bus.publish(new Tick(0, i));
+        }
+        while (seen.size() < total) {
+            Thread.sleep(10);
+        }
+        SubscriptionMetricsSnapshot m = metrics("delay");
+        assertEquals(total, m.handled());
+        // Первые burst событий прошли без ожидания, остальные ждали — каждое учтено один раз.
+        assertTrue("throttled=" + m.throttled(), m.throttled() >= total - 10 && m.throttled() <= total - 5);
+        sub.unsubscribe();
+    }
+
+    @Test(timeout = 10_000)
+    public void directSubscriptionCountsRateLimitedEventsAsNotDelivered() {
+        AtomicInteger handled = new AtomicInteger();
+        bus.subscribe(Tick.class, e -> handled.incrementAndGet(), SubscriptionOptions.builder()
+                .name("direct")
+                .deliveryMode(DeliveryMode.DIRECT)
+                .rateLimit(0.001, 3, RateLimitAction.DROP)
+                .build());
+
+        int delivered = 0;
+        int dropped = 0;
+        for (int i = 0; i < 10; i++) {
+            PublishOutcome outcome = bus.tryPublish(new Tick(0, i));
+            delivered += outcome.delivered();
+            dropped += outcome.dropped();
+        }
+        assertEquals(3, delivered);
+        assertEquals(7, dropped);
+        assertEquals(3, handled.get());
+        assertEquals(7, metrics("direct").throttled());
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Запрос/ответ через шину: ответ, таймаут по колесу таймеров и отмена future.
+ *
+ * @author Евгений Платонов
+ */
+
+public class RequestReplyTest {
+
+    static final class Query {
+        final int n;
+
+        Query(int n) {
+            this.n = n;
+        }
+    }
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        bus.drain(1_000);
+        exec.shutdownNow();
+    }
+
+    private static Throwable failureOf(CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+        fail("request must fail");
+        return null;
+    }
+
+    @Test(timeout = 10_000)
+    public void replyCompletesTheRequest() throws Exception {
+        bus.subscribe(Query.class, q -> bus.reply(q, "answer-" + q.n), null);
+        assertEquals("answer-7", bus.request(new Query(7), String.class, 5_000).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test(timeout = 10_000)
+    public void unansweredRequestTimesOutNotBeforeItsDeadline() throws Exception {
+        bus.subscribe(Query.class, q -> { }, null);
+        long start = System.nanoTime();
+        CompletableFuture<String> future = bus.request(new Query(1), String.class, 200);
+
+        assertTrue(failureOf(future) instanceof TimeoutException);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200);
+    }
+
+    @Test(timeout = 10_000)
+    public void cancelledRequestIgnoresLateReply() throws Exception {
+        Query query = new Query(2);
+        bus.subscribe(Query.class, q -> { }, null);
+        CompletableFuture<String> future = bus.request(query, String.class, 5_000);
+
+        assertTrue(future.cancel(false));
+        assertFalse(bus.reply(query, "late"));
+        // Тот же объект снова можно отправить запросом: прежняя запись снята из таблицы.
+        CompletableFuture<String> again = bus.request(query, String.class, 5_000);
+        assertTrue(bus.reply(query, "again"));
+        assertEquals("again", again.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test(timeout = 10_000)
+    public void wrongReplyTypeFailsTheRequest() throws Exception {
+        bus.subscribe(Query.class, q -> bus.reply(q, 42), null);
+        assertTrue(failureOf(bus.request(new Query(3), String.class, 5_000)) instanceof ClassCastException);
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.DrainReport;
+import com.coresys.platform.kernel.events.EventBus;
+import com.coresys.platform.kernel.events.EventRing;
+import com.coresys.platform.kernel.events.metrics.SubscriptionMetricsSnapshot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Кольцевой канал: подписка под нагрузкой, учёт ошибок обработчика, дочитывание при drain()
+ * и отказ в публикации после остановки шины.
+ *
+ * @author Евгений Платонов
+ */
+
+public class RingChannelTest {
+
+    static final class Slot {
+        long value;
+    }
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        exec.shutdownNow();
+    }
+
+    private static void publish(EventRing<Slot> ring, long value) {
+        long seq = ring.next();
+        ring.get(seq).value = value;
+        ring.publish(seq);
+    }
+
+    @Test(timeout = 30_000)
+    public void consumersSubscribedUnderLoadSeeContiguousSequencesAndNeverStallProducers() throws Exception {
+        EventRing<Slot> ring = bus.createRing("load", Slot::new, 64);
+        long total = 300_000;
+        Thread[] producers = new Thread[2];
+        for (int p = 0; p < producers.length; p++) {
+            producers[p] = new Thread(() -> {
+                for (long i = 0; i < total / producers.length; i++) publish(ring, i);
+            });
+            producers[p].start();
+        }
+
+        List<AtomicLong> lastSeen = new ArrayList<>();
+        List<AtomicLong> gaps = new ArrayList<>();
+        while (lastSeen.size() < 16 && (producers[0].isAlive() || producers[1].isAlive())) {
+            AtomicLong last = new AtomicLong(Long.MIN_VALUE);
+            AtomicLong gap = new AtomicLong();
+            lastSeen.add(last);
+            gaps.add(gap);
+            ring.subscribe((slot, sequence, endOfBatch) -> {
+                long prev = last.getAndSet(sequence);
+                if (prev != Long.MIN_VALUE && sequence != prev + 1) gap.incrementAndGet();
+            });
+            Thread.sleep(1);
+        }
+        for (Thread t : producers) t.join();
+
+        DrainReport report = bus.drain(5_000);
+        assertTrue(report.leftovers().toString(), report.completed());
+        for (int i = 0; i < gaps.size(); i++) {
+            assertEquals(0, gaps.get(i).get());
+            long last = lastSeen.get(i).get();
+            assertTrue(last == Long.MIN_VALUE || last == ring.cursor());
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void handlerFailuresAreCountedAndDrainFlushesTheRing() throws Exception {
+        EventRing<Slot> ring = bus.createRing("errors", Slot::new, 16);
+        ring.subscribe((slot, sequence, endOfBatch) -> {
+            if (slot.value % 2 == 0) throw new IllegalStateException("even");
+        });
+        for (long i = 0; i < 100; i++) publish(ring, i);
+
+        assertTrue(bus.drain(5_000).completed());
+        SubscriptionMetricsSnapshot m = bus.snapshot().subscriptions().get("ring:errors#1");
+        assertEquals(100, m.handled());
+        assertEquals(50, m.errors());
+        assertEquals(0, m.queueSize());
+    }
+
+    @Test(timeout = 10_000)
+    public void publishAfterDrainIsRejectedAndCounted() throws Exception {
+        EventRing<Slot> ring = bus.createRing("closed", Slot::new, 16);
+        List<Long> seen = new ArrayList<>();
+        ring.subscribe((slot, sequence, endOfBatch) -> seen.add(slot.value));
+        publish(ring, 1);
+        assertTrue(bus.drain(5_000).completed());
+
+        assertEquals(-1L, ring.tryNext());
+        try {
+            ring.next();
+            fail("next() after drain must be rejected");
+        } catch (IllegalStateException expected) {
+            assertEquals("EventBus is closed", expected.getMessage());
+        }
+        assertEquals(0, ring.cursor());
+        assertEquals(List.of(1L), seen);
+        assertEquals(2, bus.drain(0).rejected());
+    }
+
+    @Test(timeout = 10_000)
+    public void producerWaitingForFullRingIsReleasedByDrain() throws Exception {
+        EventRing<Slot> ring = bus.createRing("full", Slot::new, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        ring.subscribe((slot, sequence, endOfBatch) -> release.await());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread producer = new Thread(() -> {
+            try {
+                for (long i = 0; i < 100; i++) publish(ring, i);
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        producer.start();
+        while (ring.remainingCapacity() > 0) Thread.sleep(1);
+
+        try {
+            bus.drain(100);
+            producer.join(5_000);
+            assertTrue(failure.get() instanceof IllegalStateException);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void unsubscribedConsumerNoLongerGatesProducers() throws Exception {
+        EventRing<Slot> ring = bus.createRing("gate", Slot::new, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        EventBus.Subscription slow = ring.subscribe((slot, sequence, endOfBatch) -> release.await());
+        AtomicLong fastSeen = new AtomicLong();
+        ring.subscribe((slot, sequence, endOfBatch) -> fastSeen.incrementAndGet());
+        for (long i = 0; i < 4; i++) publish(ring, i);
+        assertEquals(-1L, ring.tryNext());
+
+        slow.unsubscribe();
+        try {
+            for (long i = 4; i < 100; i++) publish(ring, i);
+            while (fastSeen.get() < 100) Thread.sleep(1);
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.OverflowPolicy;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Sticky-события: кэш отдаётся новой подписке ровно один раз, доставка не держит stickyLock.
+ *
+ * @author Евгений Платонов
+ */
+
+public class StickyReplayTest {
+
+    static final class State {
+        final int value;
+
+        State(int value) {
+            this.value = value;
+        }
+    }
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        bus.drain(1_000);
+        exec.shutdownNow();
+    }
+
+    @Test(timeout = 10_000)
+    public void handlerMaySubscribeWhileStickyPublisherIsBlocked() throws Exception {
+        CountDownLatch subscribed = new CountDownLatch(1);
+        AtomicBoolean once = new AtomicBoolean();
+        bus.subscribe(State.class, e -> {
+            if (once.compareAndSet(false, true)) {
+                // Очередь полна, публикующий ждёт места в BLOCK.
+                Thread.sleep(100);
+                bus.subscribe(String.class, s -> { }, null);
+                subscribed.countDown();
+            }
+        }, SubscriptionOptions.builder().queueCapacity(1).overflowPolicy(OverflowPolicy.BLOCK).build());
+
+        for (int i = 0; i < 10; i++) {
+            bus.publishSticky(new State(i));
+        }
+        assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test(timeout = 30_000)
+    public void newSubscriberSeesEveryStickyValueOnceAndInOrder() throws Exception {
+        int total = 20_000;
+        Thread publisher = new Thread(() -> {
+            for (int i = 1; i <= total; i++) {
+                bus.publishSticky(new State(i));
+            }
+        });
+        publisher.start();
+
+        List<List<Integer>> seen = new ArrayList<>();
+        while (publisher.isAlive() && seen.size() < 50) {
+            List<Integer> got = Collections.synchronizedList(new ArrayList<>());
+            seen.add(got);
+            bus.subscribe(State.class, e -> got.add(e.value), SubscriptionOptions.builder()
+                    .queueCapacity(total).overflowPolicy(OverflowPolicy.BLOCK).build());
+            Thread.sleep(1);
+        }
+        publisher.join();
+        assertTrue(bus.drain(5_000).completed());
+
+        for (List<Integer> got : seen) {
+            synchronized (got) {
+                assertTrue(!got.isEmpty());
+                for (int i = 1; i < got.size(); i++) {
+                    assertTrue("out of order or duplicate: " + got.get(i - 1) + " -> " + got.get(i),
+                            got.get(i) > got.get(i - 1));
+                }
+                assertEquals(total, (int) got.get(got.size() - 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.OverflowPolicy;
+import com.coresys.platform.kernel.events.PublishOutcome;
+import com.coresys.platform.kernel.events.SubscriptionOptions;
+import com.coresys.platform.kernel.events.metrics.SubscriptionMetricsSnapshot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Фильтр подписки: отказ учитывается в filtered, не занимает очередь и проверяется в публикующем потоке.
+ *
+ * @author Евгений Платонов
+ */
+
+public class SubscriptionFilterTest {
+
+    private ExecutorService exec;
+    private DefaultEventBus bus;
+
+    @Before
+    public void setUp() {
+        exec = Executors.newFixedThreadPool(4);
+        bus = new DefaultEventBus(exec);
+    }
+
+    @After
+    public void tearDown() {
+        bus.drain(1_000);
+        exec.shutdownNow();
+    }
+
+    @Test(timeout = 10_000)
+    public void rejectedEventsAreCountedAndNeverQueued() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> got = new CopyOnWriteArrayList<>();
+        bus.subscribe(Integer.class, e -> {
+            if (e == 0) {
+                entered.countDown();
+                release.await();
+            }
+            got.add(e);
+        }, SubscriptionOptions.builder()
+                .name("filtered")
+                .queueCapacity(4)
+                .overflowPolicy(OverflowPolicy.DROP)
+                .filter(e -> (Integer) e < 5)
+                .build());
+
+        bus.publish(0);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 100; i++) bus.publish(i);
+
+        try {
+            // Прошли фильтр только 1..4 — ровно ёмкость очереди, переполнения нет.
+            SubscriptionMetricsSnapshot m = bus.snapshot().subscriptions().get("filtered");
+            assertEquals(95, m.filtered());
+            assertEquals(4, m.queueSize());
+            assertEquals(0, m.dropped());
+        } finally {
+            release.countDown();
+        }
+        assertTrue(bus.drain(5_000).completed());
+        assertEquals(List.of(0, 1, 2, 3, 4), got);
+        assertEquals(5, bus.snapshot().subscriptions().get("filtered").handled());
+    }
+
+    @Test(timeout = 10_000)
+    public void failingFilterCountsAnErrorAndSkipsTheEvent() throws Exception {
+        List<Integer> got = new CopyOnWriteArrayList<>();
+        bus.subscribe(Integer.class, got::add, SubscriptionOptions.builder()
+                .name("throwing")
+                .filter(e -> {
+                    if ((Integer) e == 3) throw new IllegalStateException("bad filter");
+                    return true;
+                })
+                .build());
+
+        for (int i = 0; i < 5; i++) bus.publish(i);
+        assertTrue(bus.drain(5_000).completed());
+
+        assertEquals(List.of(0, 1, 2, 4), got);
+        SubscriptionMetricsSnapshot m = bus.snapshot().subscriptions().get("throwing");
+        assertEquals(1, m.errors());
+        assertEquals(1, m.filtered());
+        assertEquals(4, m.handled());
+    }
+
+    @Test(timeout = 10_000)
+    public void filterRunsOnThePublishingThread() throws Exception {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        bus.subscribe(Integer.class, e -> { }, SubscriptionOptions.builder()
+                .filter(e -> threads.add(Thread.currentThread()))
+                .build());
+
+        for (int i = 0; i < 3; i++) bus.publish(i);
+        assertEquals(3, threads.size());
+        for (Thread t : threads) assertSame(Thread.currentThread(), t);
+    }
+
+    @Test(timeout = 10_000)
+    public void filteredSubscriptionIsNeitherDeliveredNorDroppedInTryPublish() throws Exception {
+        bus.subscribe(Integer.class, e -> { }, SubscriptionOptions.builder().name("even")
+                .filter(e -> (Integer) e % 2 == 0).build());
+        bus.subscribe(Integer.class, e -> { }, SubscriptionOptions.builder().name("all").build());
+
+        PublishOutcome outcome = bus.tryPublish(1);
+        assertEquals(1, outcome.delivered());
+        assertEquals(0, outcome.dropped());
+        assertTrue(outcome.isFullyDelivered());
+    }
+
+    @Test(timeout = 10_000)
+    public void stickyReplayHonoursTheFilter() throws Exception {
+        bus.publishSticky(7);
+        List<Integer> rejected = new CopyOnWriteArrayList<>();
+        List<Integer> accepted = new CopyOnWriteArrayList<>();
+        bus.subscribe(Integer.class, rejected::add, SubscriptionOptions.builder().name("odd-out")
+                .filter(e -> (Integer) e % 2 == 0).build());
+        bus.subscribe(Integer.class, accepted::add, null);
+        assertTrue(bus.drain(5_000).completed());
+
+        assertTrue(rejected.isEmpty());
+        assertEquals(List.of(7), accepted);
+        assertEquals(1, bus.snapshot().subscriptions().get("odd-out").filtered());
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import com.coresys.platform.kernel.events.QueueType;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Очереди подписки: порядок, моменты постановки и переход через границу массива,
+ * для MPSC_RING — и при нескольких производителях.
+ *
+ * @author Евгений Платонов
+ */
+
+public class SubscriptionQueueTest {
+
+    private static void assertWrapsAround(SubscriptionQueue q) {
+        int cap = q.capacity();
+        long next = 0;
+        long expected = 0;
+        for (int round = 0; round < 5; round++) {
+            while (q.offer(next, 1000 + next)) next++;
+            assertEquals(cap, q.size());
+            for (int i = 0; i < cap / 2 + round % 2; i++) {
+                assertEquals(expected, q.poll());
+                assertEquals(1000 + expected, q.polledEnqueuedNanos());
+                expected++;
+            }
+        }
+        List<Object> sink = new ArrayList<>();
+        long[] stamps = new long[cap];
+        int n = q.drainTo(sink, stamps, cap);
+        assertEquals(next - expected, n);
+        for (int i = 0; i < n; i++) {
+            assertEquals(expected + i, sink.get(i));
+            assertEquals(1000 + expected + i, stamps[i]);
+        }
+        assertTrue(q.isEmpty());
+        assertNull(q.poll());
+    }
+
+    @Test
+    public void blockingQueueKeepsOrderAndTimestampsAcrossWraparound() {
+        assertWrapsAround(SubscriptionQueue.create(QueueType.ARRAY_BLOCKING, 7));
+    }
+
+    @Test(timeout = 5_000)
+    public void blockingPutWaitsForSpace() throws Exception {
+        SubscriptionQueue q = SubscriptionQueue.create(QueueType.ARRAY_BLOCKING, 1);
+        assertTrue(q.offer("a", 1));
+        assertFalse(q.offer("b", 2));
+        Thread producer = new Thread(() -> {
+            try {
+                q.put("c", 3);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertEquals("a", q.poll());
+        producer.join();
+        assertEquals("c", q.poll());
+        assertEquals(3, q.polledEnqueuedNanos());
+    }
+
+    @Test
+    public void mpscRingKeepsOrderAndTimestampsAcrossWraparound() {
+        SubscriptionQueue q = SubscriptionQueue.create(QueueType.MPSC_RING, 6);
+        assertEquals(8, q.capacity());
+        assertWrapsAround(q);
+    }
+
+    @Test(timeout = 10_000)
+    public void mpscRingKeepsPerProducerOrderUnderContention() throws Exception {
+        SubscriptionQueue q = SubscriptionQueue.create(QueueType.MPSC_RING, 16);
+        int producers = 4;
+        int perProducer = 50_000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p << 32;
+            threads[p] = new Thread(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    while (!q.offer(base | i, i)) Thread.yield();
+                }
+            });
+            threads[p].start();
+        }
+
+        long[] next = new long[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            Object item = q.poll();
+            if (item == null) {
+                Thread.yield();
+                continue;
+            }
+            long v = (Long) item;
+            int p = (int) (v >>> 32);
+            assertEquals(next[p]++, v & 0xFFFF_FFFFL);
+            assertEquals(v & 0xFFFF_FFFFL, q.polledEnqueuedNanos());
+            received++;
+        }
+        for (Thread t : threads) t.join();
+        assertTrue(q.isEmpty());
+    }
+}
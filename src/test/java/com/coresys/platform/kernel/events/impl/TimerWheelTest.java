@@ -0,0 +1,89 @@
+/**
+ * CoreSys Platform Kernel
+ * Copyright (c) 2026 Evgeniy Platonov
+ * Licensed under the Apache License, Version 2.0
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.coresys.platform.kernel.events.impl;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Колесо таймеров: срабатывание после спуска с верхних уровней, отмена и остановка.
+ *
+ * @author Евгений Платонов
+ */
+
+public class TimerWheelTest {
+
+    private final TimerWheel timer = new TimerWheel("timer-wheel-test");
+
+    @After
+    public void tearDown() {
+        timer.stop();
+    }
+
+    @Test(timeout = 10_000)
+    public void timeoutsBeyondTheRootLevelFireAfterCascadeAndNotEarly() throws Exception {
+        // 256 тиков уровня 0 — около 256 мс; всё, что дальше, спускается каскадом.
+        long[] delaysMillis = {5, 300, 700, 1_100};
+        CountDownLatch fired = new CountDownLatch(delaysMillis.length);
+        AtomicInteger early = new AtomicInteger();
+        long start = System.nanoTime();
+        for (long d : delaysMillis) {
+            long due = start + TimeUnit.MILLISECONDS.toNanos(d);
+            timer.schedule(() -> {
+                if (System.nanoTime() < due) early.incrementAndGet();
+                fired.countDown();
+            }, TimeUnit.MILLISECONDS.toNanos(d));
+        }
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertEquals(0, early.get());
+    }
+
+    @Test(timeout = 10_000)
+    public void cancelledTimeoutNeverRuns() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        TimerWheel.Timeout near = timer.schedule(runs::incrementAndGet, TimeUnit.MILLISECONDS.toNanos(50));
+        TimerWheel.Timeout far = timer.schedule(runs::incrementAndGet, TimeUnit.MILLISECONDS.toNanos(400));
+        assertTrue(near.cancel());
+        assertFalse(near.cancel());
+        Thread.sleep(100);
+        assertTrue(far.cancel());
+
+        CountDownLatch marker = new CountDownLatch(1);
+        timer.schedule(marker::countDown, TimeUnit.MILLISECONDS.toNanos(600));
+        assertTrue(marker.await(5, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+    }
+
+    @Test(timeout = 10_000)
+    public void expiredTimeoutCannotBeCancelled() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        TimerWheel.Timeout t = timer.schedule(fired::countDown, 0L);
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertFalse(t.cancel());
+    }
+
+    @Test(timeout = 10_000)
+    public void stoppedTimerDropsPendingAndNewTimeouts() throws Exception {
+        AtomicLong runs = new AtomicLong();
+        timer.schedule(runs::incrementAndGet, TimeUnit.MILLISECONDS.toNanos(50));
+        timer.stop();
+        TimerWheel.Timeout late = timer.schedule(runs::incrementAndGet, 0L);
+        assertTrue(late.isCancelled());
+        Thread.sleep(200);
+        assertEquals(0, runs.get());
+    }
+}